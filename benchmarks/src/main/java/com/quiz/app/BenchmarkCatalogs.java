@@ -0,0 +1,168 @@
+package com.quiz.app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Synthetic question catalogs and the fixtures the benchmarks run against.
+ * <p>
+ * Catalogs are generated from a fixed seed, so every run (and every release) measures the same data.
+ * Question lengths spread over all three difficulty levels and about one question in a thousand
+ * has an answer key that matches none of its options, like hand-entered data tends to.
+ */
+final class BenchmarkCatalogs {
+
+    static final long SEED = 20_240_601L;
+    private static final String[] CATEGORIES = {"History", "Geography", "Culture", "Sports", "Science", "Economy"};
+    private static final String[] WORDS = {"Bangladesh", "river", "district", "capital", "language", "movement",
+            "festival", "cricket", "delta", "division", "independence", "poet", "Padma", "Meghna", "Sundarbans"};
+    private static final AtomicInteger DATABASE_COUNTER = new AtomicInteger();
+
+    private BenchmarkCatalogs() {}
+
+    static List<Question> generate(int size) {
+        Random random = new Random(SEED);
+        List<Question> questions = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            StringBuilder text = new StringBuilder("Question ").append(i).append(':');
+            int words = 2 + random.nextInt(22);
+            for (int w = 0; w < words; w++) {
+                text.append(' ').append(WORDS[random.nextInt(WORDS.length)]);
+            }
+            text.append('?');
+
+            String[] options = new String[4];
+            for (int o = 0; o < options.length; o++) {
+                options[o] = WORDS[random.nextInt(WORDS.length)] + " " + (i * 4 + o);
+            }
+            String correct = random.nextInt(1000) == 0 ? "None of the above" : options[random.nextInt(4)];
+            questions.add(new Question(i, text.toString(), options[0], options[1], options[2], options[3], correct,
+                    CATEGORIES[random.nextInt(CATEGORIES.length)]));
+        }
+        return questions;
+    }
+
+    // A QuizManager on the file backend serving the given catalog, with no database behind it
+    static final class OfflineFixture implements AutoCloseable {
+        final FileQuestionRepository repository;
+        final QuizManager quizManager;
+        private final Path snapshot;
+
+        OfflineFixture(List<Question> questions) throws IOException {
+            snapshot = writeSnapshot(questions);
+            repository = new FileQuestionRepository(snapshot);
+            quizManager = new QuizManager(repository, new InMemoryScoreRepository(), null);
+        }
+
+        @Override
+        public void close() throws IOException {
+            repository.close();
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    // Temporary question file in the snapshot format, as the file backend reads it
+    static Path writeSnapshot(List<Question> questions) throws IOException {
+        Path snapshot = Files.createTempFile("quiz-bench-", ".snapshot");
+        QuestionSnapshotFile.write(snapshot, QuestionCatalog.of(questions, QuizManager.computeStatistics(questions)));
+        return snapshot;
+    }
+
+    // An in-memory H2 database (MySQL mode) holding a generated catalog and some scores
+    static final class EmbeddedDatabase implements AutoCloseable {
+        final String url = "jdbc:h2:mem:quiz-bench-" + DATABASE_COUNTER.incrementAndGet()
+                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        // Holds the in-memory database open between benchmark iterations
+        private final Connection keepAlive;
+
+        EmbeddedDatabase(List<Question> questions, int scoreCount) throws SQLException {
+            keepAlive = DriverManager.getConnection(url);
+            try (Statement stmt = keepAlive.createStatement()) {
+                stmt.executeUpdate("""
+                    CREATE TABLE questions (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        question TEXT,
+                        a VARCHAR(255),
+                        b VARCHAR(255),
+                        c VARCHAR(255),
+                        d VARCHAR(255),
+                        correct VARCHAR(255),
+                        category VARCHAR(64)
+                    )
+                """);
+                // H2 has no IF(); the generated column is spelled with CASE here
+                stmt.executeUpdate("""
+                    CREATE TABLE scores (
+                        id INT AUTO_INCREMENT PRIMARY KEY,
+                        player_name VARCHAR(255) NOT NULL,
+                        score INT NOT NULL,
+                        total_questions INT NOT NULL,
+                        date_played TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                        percentage DECIMAL(6,2) GENERATED ALWAYS AS
+                            (CASE WHEN total_questions > 0 THEN score * 100 / total_questions ELSE 0 END)
+                    )
+                """);
+                stmt.executeUpdate("CREATE INDEX idx_scores_percentage_date ON scores (percentage DESC, date_played DESC)");
+            }
+
+            keepAlive.setAutoCommit(false);
+            try (PreparedStatement pstmt = keepAlive.prepareStatement(
+                    "INSERT INTO questions (id, question, a, b, c, d, correct, category) VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+                int batched = 0;
+                for (Question question : questions) {
+                    pstmt.setInt(1, question.getId());
+                    pstmt.setString(2, question.getQuestion());
+                    pstmt.setString(3, question.getA());
+                    pstmt.setString(4, question.getB());
+                    pstmt.setString(5, question.getC());
+                    pstmt.setString(6, question.getD());
+                    pstmt.setString(7, question.getCorrect());
+                    pstmt.setString(8, question.getCategory());
+                    pstmt.addBatch();
+                    if (++batched % 5_000 == 0) {
+                        pstmt.executeBatch();
+                    }
+                }
+                pstmt.executeBatch();
+            }
+            try (PreparedStatement pstmt = keepAlive.prepareStatement(
+                    "INSERT INTO scores (player_name, score, total_questions, date_played) VALUES (?, ?, ?, ?)")) {
+                Random random = new Random(SEED);
+                long now = System.currentTimeMillis();
+                for (int i = 0; i < scoreCount; i++) {
+                    pstmt.setString(1, "player-" + random.nextInt(Math.max(1, scoreCount / 4)));
+                    pstmt.setInt(2, random.nextInt(6));
+                    pstmt.setInt(3, 5);
+                    pstmt.setTimestamp(4, new Timestamp(now - random.nextInt(30 * 86_400) * 1000L));
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            keepAlive.commit();
+            keepAlive.setAutoCommit(true);
+        }
+
+        DatabaseManager open() {
+            return new DatabaseManager(() -> DriverManager.getConnection(url));
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (Statement stmt = keepAlive.createStatement()) {
+                stmt.execute("SHUTDOWN");
+            }
+            keepAlive.close();
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.quiz.app;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory catalog reads: random selection, lookup by id and statistics.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class CatalogBenchmark {
+
+    private static final int QUIZ_LENGTH = 5;
+
+    @Param({"1000", "100000", "1000000"})
+    public int catalogSize;
+
+    private BenchmarkCatalogs.OfflineFixture fixture;
+    private QuizManager quizManager;
+    private List<Question> questions;
+
+    @Setup
+    public void setUp() throws IOException {
+        questions = BenchmarkCatalogs.generate(catalogSize);
+        fixture = new BenchmarkCatalogs.OfflineFixture(questions);
+        quizManager = fixture.quizManager;
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public List<Question> getRandomQuestions() {
+        return quizManager.getRandomQuestions(QUIZ_LENGTH);
+    }
+
+    @Benchmark
+    public List<Question> getBalancedRandomQuestions() {
+        return quizManager.getBalancedRandomQuestions(QUIZ_LENGTH);
+    }
+
+    @Benchmark
+    public Question getQuestionById() {
+        return quizManager.getQuestionById(1 + ThreadLocalRandom.current().nextInt(catalogSize));
+    }
+
+    // Served from the catalog snapshot
+    @Benchmark
+    public QuizManager.QuizStatistics getQuizStatistics() {
+        return quizManager.getQuizStatistics();
+    }
+
+    // What a refresh pays to rebuild the statistics
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public QuizManager.QuizStatistics computeStatistics() {
+        return QuizManager.computeStatistics(questions);
+    }
+
+    // The original three-stream version, re-measuring the text of every question on each pass
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public QuizManager.QuizStatistics computeStatisticsThreeStreams() {
+        return new QuizManager.QuizStatistics(
+                questions.size(),
+                (int) questions.stream().filter(q -> lengthDifficulty(q).equals("Easy")).count(),
+                (int) questions.stream().filter(q -> lengthDifficulty(q).equals("Medium")).count(),
+                (int) questions.stream().filter(q -> lengthDifficulty(q).equals("Hard")).count()
+        );
+    }
+
+    private static String lengthDifficulty(Question question) {
+        if (question.getQuestion().length() < 50) {
+            return "Easy";
+        } else if (question.getQuestion().length() < 100) {
+            return "Medium";
+        } else {
+            return "Hard";
+        }
+    }
+}
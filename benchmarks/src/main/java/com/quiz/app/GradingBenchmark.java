@@ -0,0 +1,117 @@
+package com.quiz.app;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Server-side grading of submitted answer sheets, per answer: the original string comparison
+ * against the precomputed answer keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class GradingBenchmark {
+
+    private static final int SHEET_SIZE = 1_000;
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    private BenchmarkCatalogs.OfflineFixture fixture;
+    private QuizManager quizManager;
+    private int[] questionIds;
+    private int[] selectedOptions;
+    private Question[] sheetQuestions;
+    private String[] selectedTexts;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Question> questions = BenchmarkCatalogs.generate(catalogSize);
+        fixture = new BenchmarkCatalogs.OfflineFixture(questions);
+        quizManager = fixture.quizManager;
+
+        // Mostly right answers, submitted as the player saw them (untrimmed, any case) for the text paths
+        Random random = new Random(BenchmarkCatalogs.SEED);
+        questionIds = new int[SHEET_SIZE];
+        selectedOptions = new int[SHEET_SIZE];
+        sheetQuestions = new Question[SHEET_SIZE];
+        selectedTexts = new String[SHEET_SIZE];
+        for (int i = 0; i < SHEET_SIZE; i++) {
+            Question question = quizManager.getQuestionById(1 + random.nextInt(catalogSize));
+            int option = random.nextInt(3) > 0 && question.getCorrectOption() != Question.NO_OPTION
+                    ? question.getCorrectOption() : random.nextInt(4);
+            questionIds[i] = question.getId();
+            selectedOptions[i] = option;
+            sheetQuestions[i] = question;
+            selectedTexts[i] = " " + question.getOption(option).toUpperCase() + " ";
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        fixture.close();
+    }
+
+    // How isAnswerCorrect used to grade: trim and compare both strings ignoring case
+    @Benchmark
+    @OperationsPerInvocation(SHEET_SIZE)
+    public int stringCompare() {
+        int score = 0;
+        for (int i = 0; i < SHEET_SIZE; i++) {
+            if (sheetQuestions[i].getCorrect().trim().equalsIgnoreCase(selectedTexts[i].trim())) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHEET_SIZE)
+    public int isAnswerCorrectByText() {
+        int score = 0;
+        for (int i = 0; i < SHEET_SIZE; i++) {
+            if (quizManager.isAnswerCorrect(sheetQuestions[i], selectedTexts[i])) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SHEET_SIZE)
+    public int isAnswerCorrectByOption() {
+        int score = 0;
+        for (int i = 0; i < SHEET_SIZE; i++) {
+            if (quizManager.isAnswerCorrect(sheetQuestions[i], selectedOptions[i])) {
+                score++;
+            }
+        }
+        return score;
+    }
+
+    // Includes looking each question up by id
+    @Benchmark
+    @OperationsPerInvocation(SHEET_SIZE)
+    public QuizManager.AnswerSheetResult gradeAnswerSheet() {
+        return quizManager.gradeAnswerSheet(questionIds, selectedOptions);
+    }
+}
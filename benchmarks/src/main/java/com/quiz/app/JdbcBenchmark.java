@@ -0,0 +1,112 @@
+package com.quiz.app;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DatabaseManager's JDBC paths against an embedded H2 database. Absolute numbers say little
+ * about MySQL over a network; the row mapping and allocation per row are what compare.
+ * The 1M catalog is left out by default (add -p catalogSize=1000000 and a bigger heap).
+ * The mapRows benchmarks compare reading each column by name with a compiled RowMapper on the
+ * same SELECT * scan; divide by catalogSize for the per-row cost.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class JdbcBenchmark {
+
+    private static final int SCORE_ROWS = 10_000;
+
+    @Param({"1000", "100000"})
+    public int catalogSize;
+
+    private BenchmarkCatalogs.EmbeddedDatabase database;
+    private DatabaseManager dbManager;
+    private Connection connection;
+    private PreparedStatement selectAll;
+
+    @Setup
+    public void setUp() throws SQLException {
+        database = new BenchmarkCatalogs.EmbeddedDatabase(BenchmarkCatalogs.generate(catalogSize), SCORE_ROWS);
+        dbManager = database.open();
+        connection = DriverManager.getConnection(database.url);
+        selectAll = connection.prepareStatement("SELECT * FROM questions");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        selectAll.close();
+        connection.close();
+        dbManager.closeConnection();
+        database.close();
+    }
+
+    // Full catalog scan through the row mapper, as a load or full refresh does
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void forEachQuestion(Blackhole blackhole) {
+        dbManager.forEachQuestion(blackhole::consume);
+    }
+
+    // Column lookup by label on every row, as the query methods used to map
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void mapRowsByName(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = selectAll.executeQuery()) {
+            while (rs.next()) {
+                blackhole.consume(new Question(
+                        rs.getInt("id"),
+                        rs.getString("question"),
+                        rs.getString("a"),
+                        rs.getString("b"),
+                        rs.getString("c"),
+                        rs.getString("d"),
+                        rs.getString("correct"),
+                        rs.getString("category")
+                ));
+            }
+        }
+    }
+
+    // Column positions resolved once for the result set
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void mapRowsCompiled(Blackhole blackhole) throws SQLException {
+        try (ResultSet rs = selectAll.executeQuery()) {
+            RowMapper.QUESTION.forEach(rs, blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public List<Question> getRandomQuestions() {
+        return dbManager.getRandomQuestions(5);
+    }
+
+    // Beyond the in-memory leaderboard, so this always queries
+    @Benchmark
+    public List<DatabaseManager.ScoreRecord> getTopScoresFromDatabase() {
+        return dbManager.getTopScores(500);
+    }
+}
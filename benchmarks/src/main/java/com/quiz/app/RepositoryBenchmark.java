@@ -0,0 +1,88 @@
+package com.quiz.app;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The same QuestionRepository calls against each backend in isolation. "embedded" is H2 in
+ * memory and "file" a snapshot file; "mysql" uses the QuizConfig connection settings
+ * (-Dquiz.db.url=... through -jvmArgsAppend) and needs the server to hold the catalog already.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class RepositoryBenchmark {
+
+    @Param({"embedded", "file"})
+    public String backend;
+
+    @Param({"100000"})
+    public int catalogSize;
+
+    private BenchmarkCatalogs.EmbeddedDatabase database;
+    private Path questionFile;
+    private QuestionRepository repository;
+
+    @Setup
+    public void setUp() throws SQLException, IOException {
+        switch (backend) {
+            case "embedded":
+                database = new BenchmarkCatalogs.EmbeddedDatabase(BenchmarkCatalogs.generate(catalogSize), 0);
+                repository = database.open();
+                break;
+            case "file":
+                questionFile = BenchmarkCatalogs.writeSnapshot(BenchmarkCatalogs.generate(catalogSize));
+                repository = new FileQuestionRepository(questionFile);
+                break;
+            case "mysql":
+                repository = new DatabaseManager();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown backend " + backend);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException, IOException {
+        repository.close();
+        if (database != null) {
+            database.close();
+        }
+        if (questionFile != null) {
+            Files.deleteIfExists(questionFile);
+        }
+    }
+
+    @Benchmark
+    public List<Question> getRandomQuestions() {
+        return repository.getRandomQuestions(5);
+    }
+
+    // A full catalog load, as QuizManager does at startup
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void forEachQuestion(Blackhole blackhole) {
+        repository.forEachQuestion(blackhole::consume);
+    }
+}
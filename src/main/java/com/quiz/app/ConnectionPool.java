@@ -0,0 +1,621 @@
+package com.quiz.app;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Small bounded JDBC connection pool used by {@link DatabaseManager}.
+ * <p>
+ * Connections handed out by {@link #getConnection()} are proxies: calling {@code close()}
+ * returns the physical connection to the pool instead of closing it. Idle connections are
+ * validated on borrow, evicted after {@code idleTimeoutMillis}, and borrowed connections held
+ * longer than {@code leakThresholdMillis} are reported as possible leaks.
+ * <p>
+ * With a statement cache size above zero, each physical connection also keeps its most
+ * recently used prepared statements (LRU). {@code prepareStatement} returns a cached one when
+ * the same SQL was prepared on that connection before, and closing it hands it back to the
+ * cache. Statement settings such as the fetch size carry over between uses, so callers set
+ * the ones they rely on.
+ */
+public class ConnectionPool implements AutoCloseable {
+
+    // Source of new physical connections (DriverManager for MySQL, or any JDBC stand-in)
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private static final long VALIDATION_INTERVAL_MILLIS = 1_000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final ConnectionFactory factory;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakThresholdMillis;
+    private final int statementCacheSize;
+
+    private final Semaphore permits;
+    private final Deque<PooledEntry> idle = new ArrayDeque<>();
+    private final Set<PooledEntry> borrowed = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    // Metrics
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong totalAcquireNanos = new AtomicLong();
+    private final AtomicLong maxAcquireNanos = new AtomicLong();
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong leakCount = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long acquireTimeoutMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis) {
+        this(factory, maxSize, acquireTimeoutMillis, idleTimeoutMillis, leakThresholdMillis, 0);
+    }
+
+    // statementCacheSize: prepared statements kept per connection, 0 to disable
+    public ConnectionPool(ConnectionFactory factory, int maxSize, long acquireTimeoutMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis, int statementCacheSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakThresholdMillis = leakThresholdMillis;
+        this.statementCacheSize = Math.max(0, statementCacheSize);
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+        long period = Math.max(1_000, Math.min(idleTimeoutMillis, leakThresholdMillis) / 2);
+        housekeeper.scheduleAtFixedRate(this::housekeep, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    public Connection getConnection() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool is closed");
+        }
+
+        long start = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.incrementAndGet();
+                throw new SQLTimeoutException("Timed out after " + acquireTimeoutMillis
+                        + " ms waiting for a database connection (pool size " + maxSize + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        }
+
+        try {
+            PooledEntry entry = takeValidIdle();
+            if (entry == null) {
+                entry = new PooledEntry(factory.create());
+                createdCount.incrementAndGet();
+            }
+            entry.borrowedAt = System.currentTimeMillis();
+            entry.borrower = Thread.currentThread().getName();
+            entry.leakReported = false;
+            borrowed.add(entry);
+
+            recordAcquire(System.nanoTime() - start);
+            return entry.newHandle();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledEntry takeValidIdle() {
+        while (true) {
+            PooledEntry entry;
+            synchronized (idle) {
+                entry = idle.pollFirst();
+            }
+            if (entry == null) {
+                return null;
+            }
+            if (isUsable(entry)) {
+                return entry;
+            }
+            evictedCount.incrementAndGet();
+            closeQuietly(entry.physical);
+        }
+    }
+
+    private boolean isUsable(PooledEntry entry) {
+        try {
+            if (entry.physical.isClosed()) {
+                return false;
+            }
+            // Skip the round trip for connections that were in use a moment ago
+            if (System.currentTimeMillis() - entry.lastUsed < VALIDATION_INTERVAL_MILLIS) {
+                return true;
+            }
+            return entry.physical.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void recordAcquire(long nanos) {
+        acquireCount.incrementAndGet();
+        totalAcquireNanos.addAndGet(nanos);
+        maxAcquireNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    private void release(PooledEntry entry) {
+        borrowed.remove(entry);
+        try {
+            // Statements the borrower left open go back to the cache
+            entry.reclaimStatements();
+            boolean reusable = !closed && !entry.physical.isClosed();
+            if (reusable && !entry.physical.getAutoCommit()) {
+                // Don't leak an open transaction into the next borrower
+                entry.physical.rollback();
+                entry.physical.setAutoCommit(true);
+            }
+            if (reusable) {
+                entry.lastUsed = System.currentTimeMillis();
+                synchronized (idle) {
+                    idle.offerFirst(entry);
+                }
+            } else {
+                closeQuietly(entry.physical);
+            }
+        } catch (SQLException e) {
+            evictedCount.incrementAndGet();
+            closeQuietly(entry.physical);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void housekeep() {
+        long now = System.currentTimeMillis();
+
+        // Idle eviction
+        synchronized (idle) {
+            Iterator<PooledEntry> it = idle.iterator();
+            while (it.hasNext()) {
+                PooledEntry entry = it.next();
+                if (now - entry.lastUsed > idleTimeoutMillis) {
+                    it.remove();
+                    evictedCount.incrementAndGet();
+                    closeQuietly(entry.physical);
+                }
+            }
+        }
+
+        // Leak detection
+        for (PooledEntry entry : borrowed) {
+            long heldFor = now - entry.borrowedAt;
+            if (!entry.leakReported && heldFor > leakThresholdMillis) {
+                entry.leakReported = true;
+                leakCount.incrementAndGet();
+                System.err.println("Possible connection leak: connection borrowed by thread '"
+                        + entry.borrower + "' has been held for " + heldFor + " ms");
+            }
+        }
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        housekeeper.shutdownNow();
+        synchronized (idle) {
+            for (PooledEntry entry : idle) {
+                closeQuietly(entry.physical);
+            }
+            idle.clear();
+        }
+        // Borrowed connections are closed when they are returned
+    }
+
+    public PoolStats getStats() {
+        int idleCount;
+        synchronized (idle) {
+            idleCount = idle.size();
+        }
+        long acquires = acquireCount.get();
+        return new PoolStats(
+                maxSize,
+                borrowed.size(),
+                idleCount,
+                acquires,
+                acquireTimeouts.get(),
+                acquires == 0 ? 0 : totalAcquireNanos.get() / acquires / 1_000,
+                maxAcquireNanos.get() / 1_000,
+                createdCount.get(),
+                evictedCount.get(),
+                leakCount.get(),
+                statementCacheHits.get(),
+                statementCacheMisses.get()
+        );
+    }
+
+    private static void closeQuietly(Connection connection) {
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // Nothing useful to do with a connection we are discarding anyway
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // Same for a statement dropped from the cache
+        }
+    }
+
+    // A physical connection plus the bookkeeping the pool needs for it
+    private final class PooledEntry {
+        private final Connection physical;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private volatile long borrowedAt;
+        private volatile String borrower;
+        private volatile boolean leakReported;
+        // Only touched by the current borrower; the idle deque hands it between threads
+        private final Map<String, CachedStatement> statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+
+        // Copies of SQL that was already in use when prepared again; closed for real on close
+        private final List<CachedStatement> oneOffs = new ArrayList<>();
+
+        private PooledEntry(Connection physical) {
+            this.physical = physical;
+        }
+
+        private PreparedStatement prepare(Handle owner, String sql, int resultSetType, int concurrency)
+                throws SQLException {
+            String key = resultSetType == ResultSet.TYPE_FORWARD_ONLY && concurrency == ResultSet.CONCUR_READ_ONLY
+                    ? sql : resultSetType + "/" + concurrency + "/" + sql;
+            CachedStatement cached = statements.get(key);
+            if (cached != null && !cached.inUse && !cached.physical.isClosed()) {
+                statementCacheHits.incrementAndGet();
+                return cached.checkOut(owner);
+            }
+
+            statementCacheMisses.incrementAndGet();
+            PreparedStatement physicalStatement = physical.prepareStatement(sql, resultSetType, concurrency);
+            if (cached != null && cached.inUse) {
+                // The same SQL is already open on this connection; this copy is closed for real,
+                // but still proxied so release() can reclaim it and getConnection() stays pooled
+                CachedStatement oneOff = new CachedStatement(physicalStatement, oneOffs);
+                oneOffs.add(oneOff);
+                return oneOff.checkOut(owner);
+            }
+            if (cached != null) {
+                cached.evict();
+            }
+            cached = new CachedStatement(physicalStatement, null);
+            statements.put(key, cached);
+            return cached.checkOut(owner);
+        }
+
+        private void reclaimStatements() {
+            for (CachedStatement cached : statements.values()) {
+                if (cached.inUse) {
+                    cached.checkIn();
+                }
+            }
+            for (CachedStatement oneOff : new ArrayList<>(oneOffs)) {
+                oneOff.checkIn();
+            }
+        }
+
+        // Each borrow gets its own handle so a stale reference can't return the connection twice
+        private Connection newHandle() {
+            Handle handle = new Handle(this);
+            handle.proxy = (Connection) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{Connection.class},
+                    handle);
+            return handle.proxy;
+        }
+    }
+
+    private final class Handle implements InvocationHandler {
+        private final PooledEntry entry;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private Connection proxy;
+
+        private Handle(PooledEntry entry) {
+            this.entry = entry;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (released.compareAndSet(false, true)) {
+                        release(entry);
+                    }
+                    return null;
+                case "isClosed":
+                    return released.get() || entry.physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Pooled[" + entry.physical + "]";
+                case "prepareStatement":
+                    if (statementCacheSize > 0 && !released.get() && (args.length == 1 || args.length == 3
+                            && method.getParameterTypes()[1] == int.class)) {
+                        return entry.prepare(this, (String) args[0],
+                                args.length == 3 ? (int) args[1] : ResultSet.TYPE_FORWARD_ONLY,
+                                args.length == 3 ? (int) args[2] : ResultSet.CONCUR_READ_ONLY);
+                    }
+                    // Other prepareStatement variants (generated keys etc.) aren't cached
+                    return wrapUncached(method, invokePhysical(method, args));
+                case "createStatement":
+                case "prepareCall":
+                    return wrapUncached(method, invokePhysical(method, args));
+                default:
+                    return invokePhysical(method, args);
+            }
+        }
+
+        private Object invokePhysical(Method method, Object[] args) throws Throwable {
+            if (released.get()) {
+                throw new SQLException("Connection has already been returned to the pool");
+            }
+            try {
+                return method.invoke(entry.physical, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+
+        // Statements that bypass the cache still report this proxy as their connection
+        private Object wrapUncached(Method method, Object statement) {
+            return Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{method.getReturnType()},
+                    new UncachedStatementHandle((Statement) statement, this));
+        }
+    }
+
+    // A prepared statement kept open on its physical connection between borrows
+    private final class CachedStatement {
+        private final PreparedStatement physical;
+        // Non-null for a one-off copy, which is never reused: the list it is tracked in
+        private final List<CachedStatement> oneOffs;
+        private boolean inUse;
+        private boolean evicted;
+        private StatementHandle current;
+
+        private CachedStatement(PreparedStatement physical, List<CachedStatement> oneOffs) {
+            this.physical = physical;
+            this.oneOffs = oneOffs;
+            this.evicted = oneOffs != null;
+        }
+
+        private PreparedStatement checkOut(Handle owner) {
+            inUse = true;
+            current = new StatementHandle(this, owner);
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    ConnectionPool.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    current);
+        }
+
+        // Resets the statement for its next user, or closes it if it can't be reused
+        private void checkIn() {
+            current.closed = true;
+            current = null;
+            inUse = false;
+            if (evicted) {
+                closeQuietly(physical);
+                if (oneOffs != null) {
+                    oneOffs.remove(this);
+                }
+                return;
+            }
+            try {
+                ResultSet open = physical.getResultSet();
+                if (open != null) {
+                    open.close();
+                }
+                physical.clearParameters();
+                physical.clearBatch();
+            } catch (SQLException e) {
+                evict();
+            }
+        }
+
+        // Dropped from the cache: closed now, or when its current user is done with it
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly(physical);
+            }
+        }
+    }
+
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement statement;
+        private final Handle owner;
+        private boolean closed;
+
+        private StatementHandle(CachedStatement statement, Handle owner) {
+            this.statement = statement;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed && !owner.released.get()) {
+                        statement.checkIn();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || owner.released.get() || statement.physical.isClosed();
+                case "getConnection":
+                    return owner.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Cached[" + statement.physical + "]";
+                default:
+                    if (closed || owner.released.get()) {
+                        throw new SQLException("Statement has already been closed");
+                    }
+                    try {
+                        return method.invoke(statement.physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    // Passes everything through to a plain statement except getConnection, so callers can't
+    // reach the physical connection and close it behind the pool's back
+    private static final class UncachedStatementHandle implements InvocationHandler {
+        private final Statement physical;
+        private final Handle owner;
+
+        private UncachedStatementHandle(Statement physical, Handle owner) {
+            this.physical = physical;
+            this.owner = owner;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "getConnection":
+                    return owner.proxy;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "Uncached[" + physical + "]";
+                default:
+                    try {
+                        return method.invoke(physical, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    // Inner class for pool metrics
+    public static class PoolStats {
+        private final int maxSize;
+        private final int active;
+        private final int idle;
+        private final long acquireCount;
+        private final long acquireTimeouts;
+        private final long averageAcquireMicros;
+        private final long maxAcquireMicros;
+        private final long createdCount;
+        private final long evictedCount;
+        private final long leakCount;
+        private final long statementCacheHits;
+        private final long statementCacheMisses;
+
+        public PoolStats(int maxSize, int active, int idle, long acquireCount, long acquireTimeouts,
+                         long averageAcquireMicros, long maxAcquireMicros, long createdCount,
+                         long evictedCount, long leakCount) {
+            this(maxSize, active, idle, acquireCount, acquireTimeouts, averageAcquireMicros, maxAcquireMicros,
+                    createdCount, evictedCount, leakCount, 0, 0);
+        }
+
+        public PoolStats(int maxSize, int active, int idle, long acquireCount, long acquireTimeouts,
+                         long averageAcquireMicros, long maxAcquireMicros, long createdCount,
+                         long evictedCount, long leakCount, long statementCacheHits, long statementCacheMisses) {
+            this.maxSize = maxSize;
+            this.active = active;
+            this.idle = idle;
+            this.acquireCount = acquireCount;
+            this.acquireTimeouts = acquireTimeouts;
+            this.averageAcquireMicros = averageAcquireMicros;
+            this.maxAcquireMicros = maxAcquireMicros;
+            this.createdCount = createdCount;
+            this.evictedCount = evictedCount;
+            this.leakCount = leakCount;
+            this.statementCacheHits = statementCacheHits;
+            this.statementCacheMisses = statementCacheMisses;
+        }
+
+        // Getters
+        public int getMaxSize() { return maxSize; }
+        public int getActive() { return active; }
+        public int getIdle() { return idle; }
+        public long getAcquireCount() { return acquireCount; }
+        public long getAcquireTimeouts() { return acquireTimeouts; }
+        public long getAverageAcquireMicros() { return averageAcquireMicros; }
+        public long getMaxAcquireMicros() { return maxAcquireMicros; }
+        public long getCreatedCount() { return createdCount; }
+        public long getEvictedCount() { return evictedCount; }
+        public long getLeakCount() { return leakCount; }
+        public long getStatementCacheHits() { return statementCacheHits; }
+        public long getStatementCacheMisses() { return statementCacheMisses; }
+
+        @Override
+        public String toString() {
+            return String.format("Pool %d/%d active, %d idle, acquires: %d (timeouts: %d, avg: %dus, max: %dus), "
+                            + "created: %d, evicted: %d, leaks: %d, statement cache hits: %d, misses: %d",
+                    active, maxSize, idle, acquireCount, acquireTimeouts, averageAcquireMicros,
+                    maxAcquireMicros, createdCount, evictedCount, leakCount, statementCacheHits, statementCacheMisses);
+        }
+    }
+}
@@ -1,191 +1,853 @@
 package com.quiz.app;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// JDBC-backed question and score repository: MySQL, or an embedded H2 database
+public class DatabaseManager implements QuestionRepository, ScoreRepository {
+
+    // Connection pool settings
+    private static final int POOL_MAX_SIZE = 10;
+    private static final long POOL_ACQUIRE_TIMEOUT_MILLIS = 5_000;
+    private static final long POOL_IDLE_TIMEOUT_MILLIS = 5 * 60_000;
+    private static final long POOL_LEAK_THRESHOLD_MILLIS = 30_000;
+    // Prepared statements kept open per pooled connection
+    private static final int STATEMENT_CACHE_SIZE = 64;
+
+    // Connector/J prepares on the server (parse and plan once) and keeps statements it closes
+    private static final String MYSQL_PREPARED_STATEMENT_PROPERTIES =
+            "useServerPrepStmts=true&cachePrepStmts=true&prepStmtCacheSize=64&prepStmtCacheSqlLimit=2048";
+
+    // fetchQuestionsByIds pads its IN list to one of a few sizes so the statement can be reused
+    private static final int MIN_ID_BATCH = 4;
+
+    // Write-behind settings for scores; unsaved scores survive DB outages in the spill file
+    private static final int SCORE_QUEUE_CAPACITY = 10_000;
+    private static final int SCORE_BATCH_SIZE = 100;
+    private static final long SCORE_FLUSH_INTERVAL_MILLIS = 1_000;
+    private static final Path SCORE_SPILL_FILE =
+            Paths.get(System.getProperty("user.home"), ".bangladesh-quiz", "pending-scores.tsv");
+
+    // Top scores kept in memory; larger getTopScores requests go to the database
+    private static final int LEADERBOARD_SIZE = 100;
+    // Pause between attempts to seed the in-memory score stores after a failed query
+    private static final long SEED_RETRY_MILLIS = 30_000;
+
+    // Rows per round trip when streaming the questions table
+    private static final int DEFAULT_FETCH_SIZE = 1_000;
+
+    // Delta syncs re-read this much history so rows committed late are not missed
+    private static final long DELTA_SYNC_OVERLAP_MILLIS = 5_000;
+
+    // Question ids are re-read at most this often for random sampling
+    private static final long QUESTION_ID_CACHE_TTL_MILLIS = 60_000;
+
+    // Answer telemetry is written in one batch this often
+    private static final long TELEMETRY_FLUSH_INTERVAL_MILLIS = 30_000;
+
+    // Adds each flushed delta onto the stored totals. The histogram columns follow
+    // QuestionTelemetry.BUCKET_BOUNDS_MILLIS.
+    private static final String TELEMETRY_UPSERT_SQL = """
+        INSERT INTO question_telemetry (question_id, correct_count, wrong_count, timeout_count,
+            response_millis_total, responses_le_1s, responses_le_2s, responses_le_5s,
+            responses_le_10s, responses_le_20s, responses_le_30s, responses_over_30s)
+        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+        ON DUPLICATE KEY UPDATE
+            correct_count = correct_count + VALUES(correct_count),
+            wrong_count = wrong_count + VALUES(wrong_count),
+            timeout_count = timeout_count + VALUES(timeout_count),
+            response_millis_total = response_millis_total + VALUES(response_millis_total),
+            responses_le_1s = responses_le_1s + VALUES(responses_le_1s),
+            responses_le_2s = responses_le_2s + VALUES(responses_le_2s),
+            responses_le_5s = responses_le_5s + VALUES(responses_le_5s),
+            responses_le_10s = responses_le_10s + VALUES(responses_le_10s),
+            responses_le_20s = responses_le_20s + VALUES(responses_le_20s),
+            responses_le_30s = responses_le_30s + VALUES(responses_le_30s),
+            responses_over_30s = responses_over_30s + VALUES(responses_over_30s)
+    """;
+
+    private final ConnectionPool pool;
+    private final ScoreWriter scoreWriter;
+    private final Leaderboard leaderboard = new Leaderboard(LEADERBOARD_SIZE);
+    private final PlayerStatsStore playerStats = new PlayerStatsStore();
+    // Held while seeding, and by the score writer from committing a batch until it is applied here
+    private final Object seedLock = new Object();
+    private final long seedRetryMillis;
+    private long nextLeaderboardSeedAt;
+    private volatile boolean playerStatsSeeded;
+    private long nextPlayerStatsSeedAt;
+    private final QuestionTelemetry questionTelemetry = new QuestionTelemetry();
+    private final ScheduledExecutorService telemetryFlusher;
+    private volatile boolean connected;
+    private volatile int[] questionIds;
+    private volatile long questionIdsLoadedAt;
+    private volatile boolean changeTrackingEnabled;
+    // The questions table may carry an optional category column
+    private volatile boolean hasCategoryColumn;
+    private volatile int questionFetchSize = DEFAULT_FETCH_SIZE;
+
+    // MySQL with the connection settings from QuizConfig (quiz.properties or -Dquiz.db.*)
+    public DatabaseManager() {
+        this(QuizConfig.load());
+    }
 
-public class DatabaseManager {
-    private static final String DB_URL = "jdbc:mysql://localhost:3306/mysql_rahat";
-    private static final String DB_USERNAME = "root";  // Change this to your MySQL username
-    private static final String DB_PASSWORD = "052312";      // Change this to your MySQL password
+    private DatabaseManager(QuizConfig config) {
+        this(config.get(QuizConfig.DB_URL), config.require(QuizConfig.DB_USER), config.require(QuizConfig.DB_PASSWORD));
+    }
 
-    private Connection connection;
+    public DatabaseManager(String url, String username, String password) {
+        this(connectionFactory(url, username, password));
+        if (url.startsWith("jdbc:mysql:") && !url.contains("useCursorFetch=true")) {
+            // Connector/J buffers the whole result unless asked to stream
+            questionFetchSize = Integer.MIN_VALUE;
+        }
+    }
 
-    public DatabaseManager() {
-        try {
-            // Load MySQL JDBC driver
-            Class.forName("com.mysql.cj.jdbc.Driver");
-            connection = DriverManager.getConnection(DB_URL, DB_USERNAME, DB_PASSWORD);
+    // Any JDBC source can back the manager, e.g. an in-memory database for tests
+    public DatabaseManager(ConnectionPool.ConnectionFactory connectionFactory) {
+        this(connectionFactory, SCORE_SPILL_FILE, SEED_RETRY_MILLIS);
+    }
+
+    DatabaseManager(ConnectionPool.ConnectionFactory connectionFactory, Path scoreSpillFile, long seedRetryMillis) {
+        this.seedRetryMillis = seedRetryMillis;
+        pool = new ConnectionPool(connectionFactory, POOL_MAX_SIZE, POOL_ACQUIRE_TIMEOUT_MILLIS,
+                POOL_IDLE_TIMEOUT_MILLIS, POOL_LEAK_THRESHOLD_MILLIS, STATEMENT_CACHE_SIZE);
+
+        long connectStart = QuizMetrics.startTimer();
+        try (Connection connection = pool.getConnection()) {
+            QuizMetrics.DB_CONNECT.recordSince(connectStart);
+            connected = true;
             System.out.println("Database connected successfully!");
 
-            // Create scores table if it doesn't exist
-            createScoresTable();
+            if (isMySql(connection)) {
+                // Create scores table if it doesn't exist
+                createScoresTable(connection);
+                enableQuestionChangeTracking(connection);
+            } else {
+                // The triggers and generated-column syntax above are MySQL's; refreshes reload everything
+                createEmbeddedSchema(connection);
+            }
+            hasCategoryColumn = hasColumn(connection, "questions", "category");
+            createQuestionTelemetryTable(connection);
 
-        } catch (ClassNotFoundException e) {
-            System.err.println("MySQL JDBC Driver not found: " + e.getMessage());
-            System.err.println("Make sure to add MySQL Connector/J to your classpath");
         } catch (SQLException e) {
+            QuizMetrics.DB_CONNECT.recordSince(connectStart);
+            QuizMetrics.DB_ERRORS.increment();
             System.err.println("Database connection failed: " + e.getMessage());
             System.err.println("Make sure MySQL is running and credentials are correct");
         }
+
+        // A store whose seed query fails is seeded again on a later read, possibly while scores are
+        // being written. The writer commits each batch and hands it to the callback below under
+        // seedLock, so a seed either reads a batch from the table or gets it from the callback,
+        // never both.
+        if (connected) {
+            seedLeaderboard();
+            seedPlayerStats();
+            seedQuestionTelemetry();
+        }
+        scoreWriter = new ScoreWriter(pool, scoreSpillFile, SCORE_QUEUE_CAPACITY, SCORE_BATCH_SIZE,
+                SCORE_FLUSH_INTERVAL_MILLIS, seedLock, written -> {
+                    // An unseeded store picks these scores up from the table when it is seeded
+                    if (leaderboard.isSeeded()) {
+                        leaderboard.addAll(written);
+                    }
+                    if (playerStatsSeeded) {
+                        playerStats.addAll(written);
+                    }
+                });
+
+        telemetryFlusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "telemetry-flush");
+            t.setDaemon(true);
+            return t;
+        });
+        telemetryFlusher.scheduleWithFixedDelay(this::flushQuestionTelemetry, TELEMETRY_FLUSH_INTERVAL_MILLIS,
+                TELEMETRY_FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+
+        QuizMetrics.registerGauge("db_pool_active_connections", "Pooled connections in use",
+                () -> pool.getStats().getActive());
+        QuizMetrics.registerGauge("db_pool_idle_connections", "Pooled connections waiting to be reused",
+                () -> pool.getStats().getIdle());
+    }
+
+    static ConnectionPool.ConnectionFactory connectionFactory(String url, String username, String password) {
+        if (url.startsWith("jdbc:mysql:")) {
+            url = withServerPreparedStatements(url);
+            try {
+                // Load MySQL JDBC driver
+                Class.forName("com.mysql.cj.jdbc.Driver");
+            } catch (ClassNotFoundException e) {
+                System.err.println("MySQL JDBC Driver not found: " + e.getMessage());
+                System.err.println("Make sure to add MySQL Connector/J to your classpath");
+            }
+        } else if (url.startsWith("jdbc:h2:")) {
+            try {
+                Class.forName("org.h2.Driver");
+            } catch (ClassNotFoundException e) {
+                System.err.println("H2 JDBC Driver not found: " + e.getMessage());
+                System.err.println("The embedded backend needs the H2 jar (com.h2database:h2) on the classpath");
+            }
+        }
+        String connectionUrl = url;
+        return () -> DriverManager.getConnection(connectionUrl, username, password);
     }
 
-    private void createScoresTable() {
+    // Adds the prepared statement properties unless the URL already sets them
+    static String withServerPreparedStatements(String url) {
+        if (url.contains("useServerPrepStmts=")) {
+            return url;
+        }
+        return url + (url.indexOf('?') < 0 ? "?" : "&") + MYSQL_PREPARED_STATEMENT_PROPERTIES;
+    }
+
+    private static boolean isMySql(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    // Questions and scores tables for an embedded H2 database (run in MySQL mode)
+    private void createEmbeddedSchema(Connection connection) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS questions (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    question TEXT,
+                    a VARCHAR(255),
+                    b VARCHAR(255),
+                    c VARCHAR(255),
+                    d VARCHAR(255),
+                    correct VARCHAR(255),
+                    category VARCHAR(64)
+                )
+            """);
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS scores (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    player_name VARCHAR(255) NOT NULL,
+                    score INT NOT NULL,
+                    total_questions INT NOT NULL,
+                    date_played TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    percentage DECIMAL(6,2) GENERATED ALWAYS AS
+                        (CASE WHEN total_questions > 0 THEN score * 100 / total_questions ELSE 0 END)
+                )
+            """);
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_scores_percentage_date ON scores (percentage DESC, date_played DESC)");
+            stmt.executeUpdate("CREATE INDEX IF NOT EXISTS idx_scores_player ON scores (player_name)");
+            System.out.println("Embedded database tables ready!");
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error creating embedded database tables: " + e.getMessage());
+        }
+    }
+
+    private void createScoresTable(Connection connection) {
         String createTableSQL = """
             CREATE TABLE IF NOT EXISTS scores (
                 id INT AUTO_INCREMENT PRIMARY KEY,
                 player_name VARCHAR(255) NOT NULL,
                 score INT NOT NULL,
                 total_questions INT NOT NULL,
-                date_played TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                date_played TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                percentage DECIMAL(6,2) AS (IF(total_questions > 0, score * 100 / total_questions, 0)) STORED,
+                INDEX idx_scores_percentage_date (percentage DESC, date_played DESC),
+                INDEX idx_scores_player (player_name)
             )
         """;
 
         try (Statement stmt = connection.createStatement()) {
             stmt.executeUpdate(createTableSQL);
+            // Tables created before ranking moved from raw score to percentage
+            if (!hasColumn(connection, "scores", "percentage")) {
+                stmt.executeUpdate("""
+                    ALTER TABLE scores ADD COLUMN percentage DECIMAL(6,2)
+                        AS (IF(total_questions > 0, score * 100 / total_questions, 0)) STORED
+                """);
+            }
+            if (!hasIndex(connection, "scores", "idx_scores_percentage_date")) {
+                stmt.executeUpdate("CREATE INDEX idx_scores_percentage_date ON scores (percentage DESC, date_played DESC)");
+            }
+            if (!hasIndex(connection, "scores", "idx_scores_player")) {
+                stmt.executeUpdate("CREATE INDEX idx_scores_player ON scores (player_name)");
+            }
+            if (hasIndex(connection, "scores", "idx_scores_score_date")) {
+                stmt.executeUpdate("DROP INDEX idx_scores_score_date ON scores");
+            }
             System.out.println("Scores table ready!");
         } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
             System.err.println("Error creating scores table: " + e.getMessage());
         }
     }
 
-    public List<com.quiz.app.Question> getAllQuestions() {
-        List<com.quiz.app.Question> questions = new ArrayList<>();
-        String query = "SELECT * FROM questions";
+    private void createQuestionTelemetryTable(Connection connection) {
+        String createTableSQL = """
+            CREATE TABLE IF NOT EXISTS question_telemetry (
+                question_id INT PRIMARY KEY,
+                correct_count BIGINT NOT NULL DEFAULT 0,
+                wrong_count BIGINT NOT NULL DEFAULT 0,
+                timeout_count BIGINT NOT NULL DEFAULT 0,
+                response_millis_total BIGINT NOT NULL DEFAULT 0,
+                responses_le_1s BIGINT NOT NULL DEFAULT 0,
+                responses_le_2s BIGINT NOT NULL DEFAULT 0,
+                responses_le_5s BIGINT NOT NULL DEFAULT 0,
+                responses_le_10s BIGINT NOT NULL DEFAULT 0,
+                responses_le_20s BIGINT NOT NULL DEFAULT 0,
+                responses_le_30s BIGINT NOT NULL DEFAULT 0,
+                responses_over_30s BIGINT NOT NULL DEFAULT 0
+            )
+        """;
 
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery(query)) {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate(createTableSQL);
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error creating question telemetry table: " + e.getMessage());
+        }
+    }
 
-            while (rs.next()) {
-                com.quiz.app.Question question = new Question(
-                        rs.getInt("id"),
-                        rs.getString("question"),
-                        rs.getString("a"),
-                        rs.getString("b"),
-                        rs.getString("c"),
-                        rs.getString("d"),
-                        rs.getString("correct")
-                );
-                questions.add(question);
+    // Adds an updated_at column and a delete trigger feeding question_tombstones, so that
+    // refreshes can fetch only what changed. Without them every refresh is a full reload.
+    private void enableQuestionChangeTracking(Connection connection) {
+        try (Statement stmt = connection.createStatement()) {
+            if (!hasColumn(connection, "questions", "updated_at")) {
+                stmt.executeUpdate("""
+                    ALTER TABLE questions
+                        ADD COLUMN updated_at TIMESTAMP(3) NOT NULL
+                            DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+                        ADD INDEX idx_questions_updated_at (updated_at)
+                """);
+            }
+
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS question_tombstones (
+                    question_id INT PRIMARY KEY,
+                    deleted_at TIMESTAMP(3) NOT NULL DEFAULT CURRENT_TIMESTAMP(3),
+                    INDEX idx_question_tombstones_deleted_at (deleted_at)
+                )
+            """);
+
+            if (!hasTrigger(connection, "questions_after_delete")) {
+                stmt.executeUpdate("""
+                    CREATE TRIGGER questions_after_delete AFTER DELETE ON questions
+                    FOR EACH ROW
+                        INSERT INTO question_tombstones (question_id) VALUES (OLD.id)
+                        ON DUPLICATE KEY UPDATE deleted_at = CURRENT_TIMESTAMP(3)
+                """);
             }
 
+            changeTrackingEnabled = true;
+            System.out.println("Question change tracking ready!");
         } catch (SQLException e) {
-            System.err.println("Error fetching questions: " + e.getMessage());
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Question change tracking unavailable, refreshes will reload everything: "
+                    + e.getMessage());
         }
+    }
 
-        return questions;
+    private static boolean hasColumn(Connection connection, String table, String column) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, table, column)) {
+            return rs.next();
+        }
     }
 
-    public List<com.quiz.app.Question> getRandomQuestions(int count) {
-        List<com.quiz.app.Question> questions = new ArrayList<>();
-        String query = "SELECT * FROM questions ORDER BY RAND() LIMIT ?";
+    private static boolean hasIndex(Connection connection, String table, String index) throws SQLException {
+        try (ResultSet rs = connection.getMetaData().getIndexInfo(connection.getCatalog(), null, table, false, false)) {
+            while (rs.next()) {
+                if (index.equalsIgnoreCase(rs.getString("INDEX_NAME"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasTrigger(Connection connection, String trigger) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT 1 FROM information_schema.TRIGGERS WHERE TRIGGER_SCHEMA = DATABASE() AND TRIGGER_NAME = ?")) {
+            pstmt.setString(1, trigger);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setInt(1, count);
-            ResultSet rs = pstmt.executeQuery();
+    public boolean isChangeTrackingEnabled() {
+        return changeTrackingEnabled;
+    }
+
+    // High-water mark to pass to the next delta query, taken from the database clock
+    public Timestamp getSyncMark() {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("SELECT CURRENT_TIMESTAMP(3)");
+             ResultSet rs = pstmt.executeQuery()) {
+            if (rs.next()) {
+                return new Timestamp(rs.getTimestamp(1).getTime() - DELTA_SYNC_OVERLAP_MILLIS);
+            }
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error reading database time: " + e.getMessage());
+        }
+        return null;
+    }
 
+    // Column names and types of the questions table; a change means a full reload is needed
+    public String getQuestionsSchemaFingerprint() {
+        StringBuilder fingerprint = new StringBuilder();
+        boolean category = false;
+        try (Connection connection = pool.getConnection();
+             ResultSet rs = connection.getMetaData().getColumns(connection.getCatalog(), null, "questions", null)) {
             while (rs.next()) {
-                com.quiz.app.Question question = new Question(
-                        rs.getInt("id"),
-                        rs.getString("question"),
-                        rs.getString("a"),
-                        rs.getString("b"),
-                        rs.getString("c"),
-                        rs.getString("d"),
-                        rs.getString("correct")
-                );
-                questions.add(question);
+                String column = rs.getString("COLUMN_NAME");
+                category |= column.equalsIgnoreCase("category");
+                fingerprint.append(column).append(':')
+                        .append(rs.getString("TYPE_NAME")).append(';');
             }
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error reading questions schema: " + e.getMessage());
+            return null;
+        }
+        hasCategoryColumn = category;
+        return fingerprint.toString();
+    }
+
+    // Questions inserted or updated at or after the given mark, or null if the query failed
+    public List<com.quiz.app.Question> getQuestionsChangedSince(Timestamp since) {
+        List<com.quiz.app.Question> questions = new ArrayList<>();
+        String query = "SELECT * FROM questions WHERE updated_at >= ?";
 
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setTimestamp(1, since);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                RowMapper.QUESTION.addAll(rs, questions);
+            }
         } catch (SQLException e) {
-            System.err.println("Error fetching random questions: " + e.getMessage());
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error fetching changed questions: " + e.getMessage());
+            return null;
         }
 
         return questions;
     }
 
-    public boolean saveScore(String playerName, int score, int totalQuestions) {
-        String insertSQL = "INSERT INTO scores (player_name, score, total_questions) VALUES (?, ?, ?)";
+    // Ids of questions deleted at or after the given mark, or null if the query failed
+    public int[] getDeletedQuestionIdsSince(Timestamp since) {
+        int[] ids = new int[16];
+        int size = 0;
+        String query = "SELECT question_id FROM question_tombstones WHERE deleted_at >= ?";
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
+            pstmt.setTimestamp(1, since);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    if (size == ids.length) {
+                        ids = Arrays.copyOf(ids, size * 2);
+                    }
+                    ids[size++] = rs.getInt(1);
+                }
+            }
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error fetching deleted questions: " + e.getMessage());
+            return null;
+        }
 
-        try (PreparedStatement pstmt = connection.prepareStatement(insertSQL)) {
-            pstmt.setString(1, playerName);
-            pstmt.setInt(2, score);
-            pstmt.setInt(3, totalQuestions);
+        return Arrays.copyOf(ids, size);
+    }
 
-            int rowsAffected = pstmt.executeUpdate();
-            if (rowsAffected > 0) {
-                System.out.println("Score saved successfully for " + playerName);
+    public List<com.quiz.app.Question> getAllQuestions() {
+        List<com.quiz.app.Question> questions = new ArrayList<>();
+        forEachQuestion(questions::add);
+        return questions;
+    }
+
+    // Streams every question to the consumer as rows arrive, without materializing the result set.
+    // Returns false if the read failed part way (the consumer may have seen some rows).
+    public boolean forEachQuestion(Consumer<com.quiz.app.Question> consumer) {
+        long start = QuizMetrics.startTimer();
+        try {
+            String query = hasCategoryColumn
+                    ? "SELECT id, question, a, b, c, d, correct, category FROM questions"
+                    : "SELECT id, question, a, b, c, d, correct FROM questions";
+
+            try (Connection connection = pool.getConnection();
+                 PreparedStatement pstmt = connection.prepareStatement(query,
+                         ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                // Set on every use: a cached statement keeps the fetch size it was last given
+                pstmt.setFetchSize(questionFetchSize);
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    RowMapper.QUESTION.forEach(rs, consumer);
+                }
                 return true;
+
+            } catch (SQLException e) {
+                QuizMetrics.DB_ERRORS.increment();
+                System.err.println("Error fetching questions: " + e.getMessage());
             }
 
+            return false;
+        } finally {
+            QuizMetrics.DB_GET_ALL_QUESTIONS.recordSince(start);
+        }
+    }
+
+    public int getQuestionFetchSize() {
+        return questionFetchSize;
+    }
+
+    // Rows fetched per round trip when streaming questions. For MySQL, Integer.MIN_VALUE streams
+    // row by row; a positive size needs useCursorFetch=true in the URL to take effect.
+    public void setQuestionFetchSize(int questionFetchSize) {
+        this.questionFetchSize = questionFetchSize;
+    }
+
+    public List<com.quiz.app.Question> getRandomQuestions(int count) {
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+        long start = QuizMetrics.startTimer();
+        try {
+            int[] ids = getQuestionIds(false);
+            List<com.quiz.app.Question> questions = fetchQuestionsByIds(sampleIds(ids, count));
+
+            // A sampled id was deleted since the id cache was built; reload ids and try once more
+            if (questions.size() < Math.min(count, ids.length)) {
+                ids = getQuestionIds(true);
+                questions = fetchQuestionsByIds(sampleIds(ids, count));
+            }
+            return questions;
+
         } catch (SQLException e) {
-            System.err.println("Error saving score: " + e.getMessage());
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error fetching random questions: " + e.getMessage());
+            return new ArrayList<>();
+        } finally {
+            QuizMetrics.DB_GET_RANDOM_QUESTIONS.recordSince(start);
+        }
+    }
+
+    // Forget the cached id list, e.g. after questions were inserted or deleted
+    public void invalidateQuestionIdCache() {
+        questionIds = null;
+    }
+
+    // Ids of all questions, cached so random sampling never has to scan the table
+    private int[] getQuestionIds(boolean reload) throws SQLException {
+        int[] ids = questionIds;
+        if (!reload && ids != null && System.currentTimeMillis() - questionIdsLoadedAt < QUESTION_ID_CACHE_TTL_MILLIS) {
+            return ids;
+        }
+
+        int[] loaded = new int[256];
+        int size = 0;
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("SELECT id FROM questions");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                if (size == loaded.length) {
+                    loaded = Arrays.copyOf(loaded, size * 2);
+                }
+                loaded[size++] = rs.getInt(1);
+            }
         }
 
+        ids = Arrays.copyOf(loaded, size);
+        questionIds = ids;
+        questionIdsLoadedAt = System.currentTimeMillis();
+        return ids;
+    }
+
+    private static int[] sampleIds(int[] ids, int count) {
+        int[] sample = RandomSampler.sampleIndexes(ids.length, count);
+        for (int i = 0; i < sample.length; i++) {
+            sample[i] = ids[sample[i]];
+        }
+        return sample;
+    }
+
+    private List<com.quiz.app.Question> fetchQuestionsByIds(int[] ids) throws SQLException {
+        List<com.quiz.app.Question> questions = new ArrayList<>(ids.length);
+        if (ids.length == 0) {
+            return questions;
+        }
+
+        // Round the placeholder count up to a power of two, repeating the last id, so a few
+        // statement shapes cover every quiz length
+        int placeholders = Math.max(MIN_ID_BATCH, Integer.highestOneBit(ids.length - 1) << 1);
+        StringBuilder query = new StringBuilder("SELECT * FROM questions WHERE id IN (");
+        for (int i = 0; i < placeholders; i++) {
+            query.append(i == 0 ? "?" : ", ?");
+        }
+        query.append(')');
+
+        Map<Integer, com.quiz.app.Question> byId = new HashMap<>(ids.length * 2);
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query.toString())) {
+            for (int i = 0; i < placeholders; i++) {
+                pstmt.setInt(i + 1, ids[Math.min(i, ids.length - 1)]);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                RowMapper.QUESTION.forEach(rs, question -> byId.put(question.getId(), question));
+            }
+        }
+
+        // Keep the sampled (random) order rather than the order the database returned
+        for (int id : ids) {
+            com.quiz.app.Question question = byId.get(id);
+            if (question != null) {
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+
+    // Queues the score for a batched background write; returns false only if it could not be kept at all
+    // The database write itself is timed by ScoreWriter as write_score_batch
+    public boolean saveScore(String playerName, int score, int totalQuestions) {
+        ScoreRecord record = new ScoreRecord(playerName, score, totalQuestions, new Timestamp(System.currentTimeMillis()));
+        if (scoreWriter.submit(record)) {
+            System.out.println("Score queued for " + playerName);
+            return true;
+        }
+
+        System.err.println("Error saving score for " + playerName);
         return false;
     }
 
+    // Served from the in-memory leaderboard when it covers the request; falls back to a query otherwise
     public List<ScoreRecord> getTopScores(int limit) {
+        if (limit <= leaderboard.getCapacity() && seedLeaderboard()) {
+            return leaderboard.getTop(limit);
+        }
+        List<ScoreRecord> scores = queryTopScores(limit);
+        return scores != null ? scores : new ArrayList<>();
+    }
+
+    // Seeds the leaderboard unless it already is; false while the seed query keeps failing,
+    // in which case it is tried again at most every seedRetryMillis
+    private boolean seedLeaderboard() {
+        if (leaderboard.isSeeded()) {
+            return true;
+        }
+        synchronized (seedLock) {
+            if (leaderboard.isSeeded() || System.currentTimeMillis() < nextLeaderboardSeedAt) {
+                return leaderboard.isSeeded();
+            }
+            List<ScoreRecord> topScores = queryTopScores(leaderboard.getCapacity());
+            if (topScores == null) {
+                nextLeaderboardSeedAt = System.currentTimeMillis() + seedRetryMillis;
+                return false;
+            }
+            leaderboard.seed(topScores);
+            return true;
+        }
+    }
+
+    // Null if the query failed, so a failure is never mistaken for an empty table
+    private List<ScoreRecord> queryTopScores(int limit) {
+        long start = QuizMetrics.startTimer();
         List<ScoreRecord> scores = new ArrayList<>();
         String query = """
             SELECT player_name, score, total_questions, date_played 
-            FROM scores 
-            ORDER BY score DESC, date_played DESC 
+            FROM scores
+            ORDER BY percentage DESC, date_played DESC
             LIMIT ?
         """;
 
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+        try (Connection connection = pool.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement(query)) {
             pstmt.setInt(1, limit);
-            ResultSet rs = pstmt.executeQuery();
-
-            while (rs.next()) {
-                ScoreRecord record = new ScoreRecord(
-                        rs.getString("player_name"),
-                        rs.getInt("score"),
-                        rs.getInt("total_questions"),
-                        rs.getTimestamp("date_played")
-                );
-                scores.add(record);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                RowMapper.SCORE.addAll(rs, scores);
             }
 
         } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
             System.err.println("Error fetching top scores: " + e.getMessage());
+            return null;
+        } finally {
+            QuizMetrics.DB_GET_TOP_SCORES.recordSince(start);
         }
 
         return scores;
     }
 
-    public boolean isConnected() {
-        try {
-            return connection != null && !connection.isClosed();
+    // One aggregate row per player, read at startup. False while the query keeps failing, in
+    // which case it is tried again at most every seedRetryMillis. Holding seedLock keeps the
+    // score writer from committing a batch that both the query and its callback would count.
+    private boolean seedPlayerStats() {
+        if (playerStatsSeeded) {
+            return true;
+        }
+        String query = """
+            SELECT player_name, MAX(percentage), SUM(percentage), COUNT(*)
+            FROM scores
+            GROUP BY player_name
+        """;
+
+        synchronized (seedLock) {
+            if (playerStatsSeeded || System.currentTimeMillis() < nextPlayerStatsSeedAt) {
+                return playerStatsSeeded;
+            }
+            try (Connection connection = pool.getConnection();
+                 Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(query)) {
+                while (rs.next()) {
+                    playerStats.seed(rs.getString(1), rs.getDouble(2), rs.getDouble(3), rs.getInt(4));
+                }
+                playerStatsSeeded = true;
+                System.out.println("Loaded stats for " + playerStats.getPlayerCount() + " players");
+            } catch (SQLException e) {
+                QuizMetrics.DB_ERRORS.increment();
+                System.err.println("Error loading player stats: " + e.getMessage());
+                // Drop whatever was read before the failure
+                playerStats.clear();
+                nextPlayerStatsSeedAt = System.currentTimeMillis() + seedRetryMillis;
+            }
+            return playerStatsSeeded;
+        }
+    }
+
+    // Answer totals written by earlier runs, read once at startup
+    private void seedQuestionTelemetry() {
+        String query = """
+            SELECT question_id, correct_count, wrong_count, timeout_count, response_millis_total,
+                   responses_le_1s, responses_le_2s, responses_le_5s, responses_le_10s,
+                   responses_le_20s, responses_le_30s, responses_over_30s
+            FROM question_telemetry
+        """;
+
+        try (Connection connection = pool.getConnection();
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery(query)) {
+            int rows = 0;
+            while (rs.next()) {
+                long[] histogram = new long[QuestionTelemetry.BUCKETS];
+                for (int i = 0; i < histogram.length; i++) {
+                    histogram[i] = rs.getLong(6 + i);
+                }
+                questionTelemetry.seed(new QuestionTelemetry.QuestionStats(rs.getInt(1), rs.getLong(2),
+                        rs.getLong(3), rs.getLong(4), rs.getLong(5), histogram));
+                rows++;
+            }
+            System.out.println("Loaded answer telemetry for " + rows + " questions");
         } catch (SQLException e) {
-            return false;
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error loading question telemetry: " + e.getMessage());
         }
     }
 
-    public void closeConnection() {
-        try {
-            if (connection != null && !connection.isClosed()) {
-                connection.close();
-                System.out.println("Database connection closed.");
+    // Writes answer counts gathered since the last flush in one transaction. On failure the
+    // counts are kept for the next attempt.
+    public boolean flushQuestionTelemetry() {
+        List<QuestionTelemetry.QuestionStats> deltas = questionTelemetry.drain();
+        if (deltas.isEmpty()) {
+            return true;
+        }
+
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(TELEMETRY_UPSERT_SQL)) {
+                for (QuestionTelemetry.QuestionStats delta : deltas) {
+                    pstmt.setInt(1, delta.getQuestionId());
+                    pstmt.setLong(2, delta.getCorrect());
+                    pstmt.setLong(3, delta.getWrong());
+                    pstmt.setLong(4, delta.getTimeouts());
+                    pstmt.setLong(5, delta.getResponseMillisTotal());
+                    for (int i = 0; i < QuestionTelemetry.BUCKETS; i++) {
+                        pstmt.setLong(6 + i, delta.getResponseCount(i));
+                    }
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
             }
+            return true;
         } catch (SQLException e) {
-            System.err.println("Error closing database connection: " + e.getMessage());
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error saving question telemetry, will retry: " + e.getMessage());
+            questionTelemetry.restore(deltas);
+            return false;
         }
     }
 
+    public QuestionTelemetry getQuestionTelemetry() {
+        return questionTelemetry;
+    }
+
+    // Null (and -1 for the rank) also while the player stats could not be loaded
+    public PlayerStatsStore.PlayerStats getPlayerStats(String playerName) {
+        seedPlayerStats();
+        return playerStats.getPlayerStats(playerName);
+    }
+
+    public int getRankOf(String playerName) {
+        seedPlayerStats();
+        return playerStats.getRankOf(playerName);
+    }
+
+    public boolean isConnected() {
+        return connected && !pool.isClosed();
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return isConnected();
+    }
+
+    public ConnectionPool.PoolStats getPoolStats() {
+        return pool.getStats();
+    }
+
+    public void closeConnection() {
+        if (!pool.isClosed()) {
+            // Write out queued scores and telemetry while connections are still available
+            telemetryFlusher.shutdownNow();
+            flushQuestionTelemetry();
+            scoreWriter.close();
+            System.out.println("Closing database connections. " + pool.getStats());
+            pool.close();
+            System.out.println("Database connection closed.");
+        }
+    }
+
+    @Override
+    public void close() {
+        closeConnection();
+    }
+
     // Inner class for score records
     public static class ScoreRecord {
         private String playerName;
         private int score;
         private int totalQuestions;
         private Timestamp datePlayed;
+        private double percentage;
 
         public ScoreRecord(String playerName, int score, int totalQuestions, Timestamp datePlayed) {
             this.playerName = playerName;
             this.score = score;
             this.totalQuestions = totalQuestions;
             this.datePlayed = datePlayed;
+            this.percentage = totalQuestions > 0 ? (double) score / totalQuestions * 100 : 0;
         }
 
         // Getters
@@ -195,7 +857,7 @@ public class DatabaseManager {
         public Timestamp getDatePlayed() { return datePlayed; }
 
         public double getPercentage() {
-            return (double) score / totalQuestions * 100;
+            return percentage;
         }
 
         @Override
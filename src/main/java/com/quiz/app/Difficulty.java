@@ -0,0 +1,32 @@
+package com.quiz.app;
+
+/**
+ * Difficulty level of a question, worked out once when the question text is set.
+ */
+public enum Difficulty {
+    EASY("Easy"),
+    MEDIUM("Medium"),
+    HARD("Hard");
+
+    private final String label;
+
+    Difficulty(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    // Simple difficulty assessment based on question length
+    public static Difficulty fromQuestionText(String text) {
+        int length = text == null ? 0 : text.length();
+        if (length < 50) {
+            return EASY;
+        } else if (length < 100) {
+            return MEDIUM;
+        } else {
+            return HARD;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.quiz.app;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only question source backed by a snapshot file in the {@link QuestionSnapshotFile}
+ * format, such as the one {@link QuizManager} saves after every database load.
+ * <p>
+ * The file is memory-mapped and verified once, then held in columnar form; questions are only
+ * materialized when read, so a random pick touches just the sampled rows. The file is read
+ * again when its modification time changes. Answer telemetry stays in memory.
+ */
+public class FileQuestionRepository implements QuestionRepository {
+
+    private final Path file;
+    private final QuestionTelemetry telemetry = new QuestionTelemetry();
+    private volatile List<com.quiz.app.Question> questions;
+    private volatile String schemaFingerprint;
+    private FileTime loadedModifiedTime;
+
+    public FileQuestionRepository(Path file) {
+        this.file = file;
+        reloadIfChanged();
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    // Returns false if the file can't be read; questions loaded earlier stay in use
+    private synchronized boolean reloadIfChanged() {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(loadedModifiedTime)) {
+                return true;
+            }
+            long start = System.nanoTime();
+            QuestionSnapshotFile.Contents contents = QuestionSnapshotFile.read(file);
+            questions = contents.questions;
+            schemaFingerprint = contents.schemaFingerprint;
+            loadedModifiedTime = modified;
+            System.out.printf("Opened question file %s: %d questions in %d ms%n",
+                    file, contents.questions.size(), (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (IOException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Cannot read question file " + file + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return questions != null;
+    }
+
+    @Override
+    public boolean forEachQuestion(Consumer<com.quiz.app.Question> consumer) {
+        reloadIfChanged();
+        List<com.quiz.app.Question> current = questions;
+        if (current == null) {
+            return false;
+        }
+        for (com.quiz.app.Question question : current) {
+            consumer.accept(question);
+        }
+        return true;
+    }
+
+    @Override
+    public List<com.quiz.app.Question> getRandomQuestions(int count) {
+        List<com.quiz.app.Question> current = questions;
+        if (current == null) {
+            return new ArrayList<>();
+        }
+        int[] sample = RandomSampler.sampleIndexes(current.size(), count);
+        List<com.quiz.app.Question> picked = new ArrayList<>(sample.length);
+        for (int position : sample) {
+            picked.add(current.get(position));
+        }
+        return picked;
+    }
+
+    @Override
+    public QuestionTelemetry getQuestionTelemetry() {
+        return telemetry;
+    }
+
+    @Override
+    public String getQuestionsSchemaFingerprint() {
+        return schemaFingerprint;
+    }
+
+    @Override
+    public void close() {
+        // The mapping is released when the file is read; nothing stays open
+    }
+}
@@ -0,0 +1,54 @@
+package com.quiz.app;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+/**
+ * Scores kept in memory for the life of the process, for running without a database (the
+ * file backend, demos and load tests). Only the best {@code capacity} scores are kept for the
+ * leaderboard; player stats cover every score.
+ */
+public class InMemoryScoreRepository implements ScoreRepository {
+
+    private static final int DEFAULT_CAPACITY = 1_000;
+
+    private final Leaderboard leaderboard;
+    private final PlayerStatsStore playerStats = new PlayerStatsStore();
+
+    public InMemoryScoreRepository() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public InMemoryScoreRepository(int capacity) {
+        this.leaderboard = new Leaderboard(capacity);
+    }
+
+    @Override
+    public boolean saveScore(String playerName, int score, int totalQuestions) {
+        List<DatabaseManager.ScoreRecord> record = List.of(new DatabaseManager.ScoreRecord(
+                playerName, score, totalQuestions, new Timestamp(System.currentTimeMillis())));
+        leaderboard.addAll(record);
+        playerStats.addAll(record);
+        return true;
+    }
+
+    @Override
+    public List<DatabaseManager.ScoreRecord> getTopScores(int limit) {
+        return leaderboard.getTop(limit);
+    }
+
+    @Override
+    public PlayerStatsStore.PlayerStats getPlayerStats(String playerName) {
+        return playerStats.getPlayerStats(playerName);
+    }
+
+    @Override
+    public int getRankOf(String playerName) {
+        return playerStats.getRankOf(playerName);
+    }
+
+    @Override
+    public void close() {
+        // Nothing to release; the scores are gone with the process
+    }
+}
@@ -0,0 +1,88 @@
+package com.quiz.app;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * In-memory top-K of quiz scores, ordered like the leaderboard query (percentage, then most recent).
+ * Seeded once from the database and then kept up to date as scores are written, so reading the
+ * leaderboard is an O(K) copy instead of a sort over the scores table.
+ */
+public class Leaderboard {
+
+    private static final Comparator<Entry> ORDER = Comparator
+            .comparingDouble((Entry e) -> e.record.getPercentage()).reversed()
+            .thenComparing((Entry e) -> e.record.getDatePlayed(), Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparingLong(e -> e.sequence);
+
+    private final int capacity;
+    private final TreeSet<Entry> entries = new TreeSet<>(ORDER);
+    private long nextSequence;
+    private boolean seeded;
+
+    public Leaderboard(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    // Replaces the contents with the database's current top scores
+    public synchronized void seed(List<DatabaseManager.ScoreRecord> topScores) {
+        entries.clear();
+        for (DatabaseManager.ScoreRecord record : topScores) {
+            insert(record);
+        }
+        seeded = true;
+    }
+
+    public synchronized boolean isSeeded() {
+        return seeded;
+    }
+
+    public synchronized void add(DatabaseManager.ScoreRecord record) {
+        insert(record);
+    }
+
+    public synchronized void addAll(List<DatabaseManager.ScoreRecord> records) {
+        for (DatabaseManager.ScoreRecord record : records) {
+            insert(record);
+        }
+    }
+
+    private void insert(DatabaseManager.ScoreRecord record) {
+        Entry entry = new Entry(record, nextSequence++);
+        if (entries.size() < capacity) {
+            entries.add(entry);
+        } else if (ORDER.compare(entry, entries.last()) < 0) {
+            // Better than the current K-th place: evict it
+            entries.pollLast();
+            entries.add(entry);
+        }
+    }
+
+    public synchronized List<DatabaseManager.ScoreRecord> getTop(int limit) {
+        List<DatabaseManager.ScoreRecord> top = new ArrayList<>(Math.min(limit, entries.size()));
+        for (Entry entry : entries) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.add(entry.record);
+        }
+        return top;
+    }
+
+    // Sequence keeps distinct records with equal score and date from collapsing in the set
+    private static final class Entry {
+        private final DatabaseManager.ScoreRecord record;
+        private final long sequence;
+
+        private Entry(DatabaseManager.ScoreRecord record, long sequence) {
+            this.record = record;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.quiz.app;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-player score aggregates (best, average, attempts) kept up to date as scores are written.
+ * <p>
+ * Players are ranked by their best percentage. Best percentages are counted in a Fenwick tree
+ * over 0.01% buckets, so both updating a player and asking for their rank are O(log B) and
+ * never touch the scores table.
+ */
+public class PlayerStatsStore {
+
+    // 0.00% .. 100.00% in hundredths
+    private static final int BUCKETS = 10_001;
+
+    private final Map<String, Aggregate> players = new HashMap<>();
+    private final long[] tree = new long[BUCKETS + 1];
+
+    // Seeds one player from pre-aggregated rows (see DatabaseManager's player aggregate query)
+    public synchronized void seed(String playerName, double bestPercentage, double percentageSum, int attempts) {
+        Aggregate aggregate = players.get(playerName);
+        if (aggregate != null) {
+            addToTree(bucketOf(aggregate.bestPercentage), -1);
+        } else {
+            aggregate = new Aggregate();
+            players.put(playerName, aggregate);
+        }
+        aggregate.bestPercentage = bestPercentage;
+        aggregate.percentageSum = percentageSum;
+        aggregate.attempts = attempts;
+        addToTree(bucketOf(bestPercentage), 1);
+    }
+
+    public synchronized void clear() {
+        players.clear();
+        Arrays.fill(tree, 0);
+    }
+
+    public synchronized void addAll(List<DatabaseManager.ScoreRecord> records) {
+        for (DatabaseManager.ScoreRecord record : records) {
+            add(record.getPlayerName(), record.getPercentage());
+        }
+    }
+
+    private void add(String playerName, double percentage) {
+        Aggregate aggregate = players.get(playerName);
+        if (aggregate == null) {
+            aggregate = new Aggregate();
+            aggregate.bestPercentage = percentage;
+            players.put(playerName, aggregate);
+            addToTree(bucketOf(percentage), 1);
+        } else if (percentage > aggregate.bestPercentage) {
+            addToTree(bucketOf(aggregate.bestPercentage), -1);
+            addToTree(bucketOf(percentage), 1);
+            aggregate.bestPercentage = percentage;
+        }
+        aggregate.percentageSum += percentage;
+        aggregate.attempts++;
+    }
+
+    // 1-based rank by best percentage (ties share a rank), or -1 for an unknown player
+    public synchronized int getRankOf(String playerName) {
+        Aggregate aggregate = players.get(playerName);
+        if (aggregate == null) {
+            return -1;
+        }
+        return (int) countAbove(bucketOf(aggregate.bestPercentage)) + 1;
+    }
+
+    public synchronized PlayerStats getPlayerStats(String playerName) {
+        Aggregate aggregate = players.get(playerName);
+        if (aggregate == null) {
+            return null;
+        }
+        int bucket = bucketOf(aggregate.bestPercentage);
+        int totalPlayers = players.size();
+        long below = prefixSum(bucket - 1);
+        return new PlayerStats(
+                playerName,
+                aggregate.bestPercentage,
+                aggregate.percentageSum / aggregate.attempts,
+                aggregate.attempts,
+                (int) countAbove(bucket) + 1,
+                100.0 * below / totalPlayers,
+                totalPlayers
+        );
+    }
+
+    public synchronized int getPlayerCount() {
+        return players.size();
+    }
+
+    private long countAbove(int bucket) {
+        return players.size() - prefixSum(bucket);
+    }
+
+    private static int bucketOf(double percentage) {
+        return (int) Math.max(0, Math.min(BUCKETS - 1, Math.round(percentage * 100)));
+    }
+
+    // Fenwick tree helpers (tree is 1-based; bucket b lives at index b + 1)
+    private void addToTree(int bucket, long delta) {
+        for (int i = bucket + 1; i <= BUCKETS; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    // Players whose best falls in buckets 0..bucket
+    private long prefixSum(int bucket) {
+        long sum = 0;
+        for (int i = bucket + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    private static final class Aggregate {
+        private double bestPercentage;
+        private double percentageSum;
+        private int attempts;
+    }
+
+    // Inner class for a player's aggregated results
+    public static class PlayerStats {
+        private final String playerName;
+        private final double bestPercentage;
+        private final double averagePercentage;
+        private final int attempts;
+        private final int rank;
+        private final double percentileRank;
+        private final int totalPlayers;
+
+        public PlayerStats(String playerName, double bestPercentage, double averagePercentage, int attempts,
+                           int rank, double percentileRank, int totalPlayers) {
+            this.playerName = playerName;
+            this.bestPercentage = bestPercentage;
+            this.averagePercentage = averagePercentage;
+            this.attempts = attempts;
+            this.rank = rank;
+            this.percentileRank = percentileRank;
+            this.totalPlayers = totalPlayers;
+        }
+
+        // Getters
+        public String getPlayerName() { return playerName; }
+        public double getBestPercentage() { return bestPercentage; }
+        public double getAveragePercentage() { return averagePercentage; }
+        public int getAttempts() { return attempts; }
+        public int getRank() { return rank; }
+        public double getPercentileRank() { return percentileRank; }
+        public int getTotalPlayers() { return totalPlayers; }
+
+        @Override
+        public String toString() {
+            return String.format("%s: best %.1f%%, average %.1f%% over %d attempt(s), rank %d of %d (%.1f percentile)",
+                    playerName, bestPercentage, averagePercentage, attempts, rank, totalPlayers, percentileRank);
+        }
+    }
+}
@@ -1,6 +1,16 @@
 package com.quiz.app;
 
 public class Question {
+    // Answer key values: index of the correct option, or NO_OPTION if it matches none
+    public static final int OPTION_A = 0;
+    public static final int OPTION_B = 1;
+    public static final int OPTION_C = 2;
+    public static final int OPTION_D = 3;
+    public static final int NO_OPTION = -1;
+
+    // Used when the questions table has no category column or the value is empty
+    public static final String DEFAULT_CATEGORY = "General";
+
     private int id;
     private String question;
     private String a;
@@ -8,6 +18,10 @@ public class Question {
     private String c;
     private String d;
     private String correct;
+    // Normalized once here so grading is an int compare
+    private byte correctOption = NO_OPTION;
+    private Difficulty difficulty = Difficulty.EASY;
+    private String category = DEFAULT_CATEGORY;
 
     public Question() {}
 
@@ -19,6 +33,13 @@ public class Question {
         this.c = c;
         this.d = d;
         this.correct = correct;
+        this.difficulty = Difficulty.fromQuestionText(question);
+        updateCorrectOption();
+    }
+
+    public Question(int id, String question, String a, String b, String c, String d, String correct, String category) {
+        this(id, question, a, b, c, d, correct);
+        setCategory(category);
     }
 
     // Getters and Setters
@@ -36,6 +57,7 @@ public class Question {
 
     public void setQuestion(String question) {
         this.question = question;
+        this.difficulty = Difficulty.fromQuestionText(question);
     }
 
     public String getA() {
@@ -44,6 +66,7 @@ public class Question {
 
     public void setA(String a) {
         this.a = a;
+        updateCorrectOption();
     }
 
     public String getB() {
@@ -52,6 +75,7 @@ public class Question {
 
     public void setB(String b) {
         this.b = b;
+        updateCorrectOption();
     }
 
     public String getC() {
@@ -60,6 +84,7 @@ public class Question {
 
     public void setC(String c) {
         this.c = c;
+        updateCorrectOption();
     }
 
     public String getD() {
@@ -68,6 +93,7 @@ public class Question {
 
     public void setD(String d) {
         this.d = d;
+        updateCorrectOption();
     }
 
     public String getCorrect() {
@@ -76,6 +102,58 @@ public class Question {
 
     public void setCorrect(String correct) {
         this.correct = correct;
+        updateCorrectOption();
+    }
+
+    public Difficulty getDifficulty() {
+        return difficulty;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category == null || category.isBlank() ? DEFAULT_CATEGORY : category.trim();
+    }
+
+    // Text of option A..D by index
+    public String getOption(int option) {
+        switch (option) {
+            case OPTION_A: return a;
+            case OPTION_B: return b;
+            case OPTION_C: return c;
+            case OPTION_D: return d;
+            default: throw new IllegalArgumentException("No option " + option);
+        }
+    }
+
+    // Index of the correct option (OPTION_A..OPTION_D), or NO_OPTION if the answer matches none
+    public int getCorrectOption() {
+        return correctOption;
+    }
+
+    public boolean isCorrectOption(int option) {
+        return option != NO_OPTION && option == correctOption;
+    }
+
+    // Which option the given text names (trimmed, case-insensitive), or NO_OPTION
+    public int optionIndexOf(String text) {
+        if (text == null) {
+            return NO_OPTION;
+        }
+        String normalized = text.trim();
+        for (int option = OPTION_A; option <= OPTION_D; option++) {
+            String candidate = getOption(option);
+            if (candidate != null && candidate.trim().equalsIgnoreCase(normalized)) {
+                return option;
+            }
+        }
+        return NO_OPTION;
+    }
+
+    private void updateCorrectOption() {
+        correctOption = (byte) optionIndexOf(correct);
     }
 
     @Override
@@ -88,6 +166,7 @@ public class Question {
                 ", c='" + c + '\'' +
                 ", d='" + d + '\'' +
                 ", correct='" + correct + '\'' +
+                ", category='" + category + '\'' +
                 '}';
     }
 }
\ No newline at end of file
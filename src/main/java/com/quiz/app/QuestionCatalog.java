@@ -0,0 +1,71 @@
+package com.quiz.app;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of the loaded questions: the list itself, its id index and the statistics
+ * derived from it. {@link QuizManager} publishes a new snapshot on every refresh, so readers
+ * always see a consistent list/index/stats triple without locking.
+ */
+public final class QuestionCatalog {
+
+    private static final QuestionCatalog EMPTY =
+            new QuestionCatalog(Collections.emptyList(), QuestionIndex.empty(), new QuizManager.QuizStatistics(0, 0, 0, 0),
+                    null, null);
+
+    private final List<com.quiz.app.Question> questions;
+    private final QuestionIndex index;
+    private final QuizManager.QuizStatistics statistics;
+    // Database high-water mark this snapshot is in sync with (null if delta sync isn't possible)
+    private final Timestamp syncMark;
+    private final String schemaFingerprint;
+    private final long loadedAt = System.currentTimeMillis();
+
+    private QuestionCatalog(List<com.quiz.app.Question> questions, QuestionIndex index,
+                            QuizManager.QuizStatistics statistics, Timestamp syncMark, String schemaFingerprint) {
+        this.questions = questions;
+        this.index = index;
+        this.statistics = statistics;
+        this.syncMark = syncMark;
+        this.schemaFingerprint = schemaFingerprint;
+    }
+
+    public static QuestionCatalog empty() {
+        return EMPTY;
+    }
+
+    // Copies the given questions so later changes to the source list can't leak into the snapshot
+    public static QuestionCatalog of(List<com.quiz.app.Question> questions, QuizManager.QuizStatistics statistics) {
+        return of(questions, statistics, null, null);
+    }
+
+    public static QuestionCatalog of(List<com.quiz.app.Question> questions, QuizManager.QuizStatistics statistics,
+                                     Timestamp syncMark, String schemaFingerprint) {
+        List<com.quiz.app.Question> copy = Collections.unmodifiableList(new ArrayList<>(questions));
+        return new QuestionCatalog(copy, QuestionIndex.build(copy), statistics, syncMark, schemaFingerprint);
+    }
+
+    // Same questions, newer high-water mark (a delta sync that found nothing to change)
+    public QuestionCatalog withSyncMark(Timestamp newSyncMark) {
+        return new QuestionCatalog(questions, index, statistics, newSyncMark, schemaFingerprint);
+    }
+
+    // Getters
+    public List<com.quiz.app.Question> getQuestions() { return questions; }
+    public QuestionIndex getIndex() { return index; }
+    public QuizManager.QuizStatistics getStatistics() { return statistics; }
+    public Timestamp getSyncMark() { return syncMark; }
+    public String getSchemaFingerprint() { return schemaFingerprint; }
+    public long getLoadedAt() { return loadedAt; }
+
+    public int size() {
+        return questions.size();
+    }
+
+    public boolean isEmpty() {
+        return questions.isEmpty();
+    }
+}
@@ -0,0 +1,844 @@
+package com.quiz.app;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Bulk loader for the questions table, from CSV or JSON lines.
+ * <p>
+ * The input is streamed: a reader thread cuts it into chunks of records, a pool of parser
+ * threads parses and validates chunks in parallel, and the calling thread writes them back in
+ * input order. Each chunk goes in as one transaction of multi-row INSERTs, together with a
+ * checkpoint row in {@code question_imports}, so a failed import resumes after the last
+ * committed chunk when run again. Rows that fail validation (a missing field, or a
+ * {@code correct} answer that matches none of a-d) are skipped and listed in
+ * {@code <input>.rejected}.
+ * <p>
+ * CSV needs a header naming the columns question, a, b, c, d and correct, plus optionally
+ * category and id; quoted fields may contain commas, quotes ("") and line breaks. JSON lines
+ * hold one flat object per line with the same keys.
+ * <pre>
+ * java -cp bangladesh-quiz-1.0.0.jar com.quiz.app.QuestionImporter questions.csv [--chunk-size N] [--restart]
+ * </pre>
+ * The target database comes from {@link QuizConfig} (mysql or embedded backend).
+ */
+public class QuestionImporter {
+
+    public static final int DEFAULT_CHUNK_SIZE = 5_000;
+    // Rows per INSERT statement; 8 parameters each stays far below MySQL's 65,535 limit
+    private static final int ROWS_PER_INSERT = 500;
+    private static final long PROGRESS_INTERVAL_NANOS = 2_000_000_000L;
+    private static final int MAX_OPTION_LENGTH = 255;
+    private static final int MAX_CATEGORY_LENGTH = 64;
+    // Longest CSV record, in lines, before an open quote is taken to be a stray one
+    private static final int MAX_RECORD_LINES = 50;
+
+    // Field order of a parsed row
+    private static final int QUESTION = 0;
+    private static final int A = 1;
+    private static final int CORRECT = 5;
+    private static final int CATEGORY = 6;
+    private static final String[] FIELD_NAMES = {"question", "a", "b", "c", "d", "correct", "category"};
+
+    private static final ParsedChunk END = new ParsedChunk(List.of(), List.of(), 0);
+
+    private final ConnectionPool.ConnectionFactory connectionFactory;
+    private final int chunkSize;
+    private final int parserThreads;
+
+    public QuestionImporter(ConnectionPool.ConnectionFactory connectionFactory) {
+        this(connectionFactory, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    public QuestionImporter(ConnectionPool.ConnectionFactory connectionFactory, int chunkSize, int parserThreads) {
+        if (chunkSize <= 0 || parserThreads <= 0) {
+            throw new IllegalArgumentException("chunkSize and parserThreads must be positive");
+        }
+        this.connectionFactory = connectionFactory;
+        this.chunkSize = chunkSize;
+        this.parserThreads = parserThreads;
+    }
+
+    public static void main(String[] args) {
+        if (args.length == 0) {
+            System.err.println("Usage: QuestionImporter <questions.csv|questions.jsonl> [--chunk-size N] [--restart]");
+            System.exit(2);
+        }
+        Path file = Paths.get(args[0]);
+        int chunkSize = DEFAULT_CHUNK_SIZE;
+        boolean restart = false;
+        for (int i = 1; i < args.length; i++) {
+            if (args[i].equals("--restart")) {
+                restart = true;
+            } else if (args[i].equals("--chunk-size") && i + 1 < args.length) {
+                chunkSize = Integer.parseInt(args[++i]);
+            } else {
+                System.err.println("Unknown option " + args[i]);
+                System.exit(2);
+            }
+        }
+
+        QuizConfig config = QuizConfig.load();
+        ConnectionPool.ConnectionFactory factory;
+        try {
+            switch (config.getBackend()) {
+                case EMBEDDED:
+                    factory = DatabaseManager.connectionFactory(config.get(QuizConfig.EMBEDDED_URL),
+                            config.get(QuizConfig.EMBEDDED_USER), config.get(QuizConfig.EMBEDDED_PASSWORD));
+                    break;
+                case FILE:
+                    System.err.println("The file backend is read-only; import into mysql or embedded instead");
+                    System.exit(2);
+                    return;
+                default:
+                    factory = DatabaseManager.connectionFactory(config.get(QuizConfig.DB_URL),
+                            config.require(QuizConfig.DB_USER), config.require(QuizConfig.DB_PASSWORD));
+            }
+        } catch (IllegalArgumentException e) {
+            System.err.println("Configuration error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+
+        try {
+            Result result = new QuestionImporter(factory, chunkSize, Runtime.getRuntime().availableProcessors())
+                    .importFile(file, restart);
+            System.out.println(result);
+        } catch (SQLException | IOException e) {
+            System.err.println("Import failed: " + e.getMessage());
+            System.err.println("Run the same command again to resume after the last committed chunk");
+            System.exit(1);
+        }
+    }
+
+    // Imports the file, resuming an unfinished earlier run of the same file unless restart is set
+    public Result importFile(Path file, boolean restart) throws IOException, SQLException {
+        Format format = Format.of(file);
+        String source = file.toAbsolutePath().normalize().toString();
+        String fingerprint = Files.size(file) + ":" + Files.getLastModifiedTime(file).toMillis();
+        Path rejectsFile = file.resolveSibling(file.getFileName() + ".rejected");
+
+        try (Connection connection = connectionFactory.create()) {
+            createTables(connection);
+            boolean withCategory = hasColumn(connection, "category");
+
+            Checkpoint checkpoint = restart ? null : readCheckpoint(connection, source);
+            if (restart) {
+                deleteCheckpoint(connection, source);
+            }
+            if (checkpoint != null && checkpoint.finished) {
+                System.out.println(file + " was already imported (" + checkpoint.rowsImported
+                        + " rows); use --restart to import it again");
+                return new Result(0, 0, checkpoint.rowsImported, 0);
+            }
+            if (checkpoint != null && !checkpoint.fingerprint.equals(fingerprint)) {
+                throw new SQLException(file + " changed since the interrupted import; use --restart to start over "
+                        + "(rows already imported stay in the table)");
+            }
+            if (checkpoint == null) {
+                checkpoint = new Checkpoint(fingerprint, 0, 0, 0, false);
+                Files.deleteIfExists(rejectsFile);
+            } else {
+                System.out.println("Resuming " + file + " after line " + checkpoint.linesDone
+                        + " (" + checkpoint.rowsImported + " rows already imported)");
+            }
+
+            return run(connection, file, format, source, checkpoint, withCategory, rejectsFile);
+        }
+    }
+
+    private Result run(Connection connection, Path file, Format format, String source, Checkpoint checkpoint,
+                       boolean withCategory, Path rejectsFile) throws IOException, SQLException {
+        ExecutorService parsers = Executors.newFixedThreadPool(parserThreads, r -> {
+            Thread t = new Thread(r, "question-import-parser");
+            t.setDaemon(true);
+            return t;
+        });
+        // In input order; bounded so reading never runs far ahead of writing
+        BlockingQueue<CompletableFuture<ParsedChunk>> pending = new ArrayBlockingQueue<>(parserThreads * 2);
+        Thread reader = new Thread(() -> readChunks(file, format, checkpoint.linesDone, parsers, pending),
+                "question-import-reader");
+        reader.setDaemon(true);
+
+        long start = System.nanoTime();
+        long lastProgress = start;
+        long rowsImported = 0;
+        long rowsRejected = 0;
+        long linesDone = checkpoint.linesDone;
+        boolean autoCommit = connection.getAutoCommit();
+        reader.start();
+        try (BufferedWriter rejects = Files.newBufferedWriter(rejectsFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            connection.setAutoCommit(false);
+            while (true) {
+                ParsedChunk chunk = pending.take().get();
+                if (chunk == END) {
+                    break;
+                }
+                try {
+                    insertRows(connection, chunk.rows, withCategory);
+                    saveCheckpoint(connection, source, new Checkpoint(checkpoint.fingerprint, chunk.lastLine,
+                            checkpoint.rowsImported + rowsImported + chunk.rows.size(),
+                            checkpoint.rowsRejected + rowsRejected + chunk.rejects.size(), false));
+                    connection.commit();
+                } catch (SQLException e) {
+                    connection.rollback();
+                    // Some drivers append the statement, which here is hundreds of rows long
+                    String reason = String.valueOf(e.getMessage()).split("\n", 2)[0];
+                    throw new SQLException("Chunk after line " + linesDone + " was not imported: " + reason, e);
+                }
+                rowsImported += chunk.rows.size();
+                rowsRejected += chunk.rejects.size();
+                linesDone = chunk.lastLine;
+                for (String reject : chunk.rejects) {
+                    rejects.write(reject);
+                    rejects.newLine();
+                }
+
+                long now = System.nanoTime();
+                if (now - lastProgress >= PROGRESS_INTERVAL_NANOS) {
+                    lastProgress = now;
+                    System.out.printf("%,d rows imported, %,d rejected, %,.0f rows/s%n",
+                            rowsImported, rowsRejected, rowsImported / ((now - start) / 1e9));
+                }
+            }
+
+            saveCheckpoint(connection, source, new Checkpoint(checkpoint.fingerprint, linesDone,
+                    checkpoint.rowsImported + rowsImported, checkpoint.rowsRejected + rowsRejected, true));
+            connection.commit();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing", e);
+        } catch (ExecutionException e) {
+            // Reading the file failed
+            Throwable cause = e.getCause();
+            throw cause instanceof IOException ? (IOException) cause : new IOException(cause);
+        } finally {
+            reader.interrupt();
+            parsers.shutdownNow();
+            connection.setAutoCommit(autoCommit);
+        }
+
+        // The rejects file also lists the rows rejected by earlier runs of a resumed import
+        long totalRejected = checkpoint.rowsRejected + rowsRejected;
+        if (totalRejected > 0) {
+            System.err.println(totalRejected + " row(s) rejected, see " + rejectsFile);
+        } else {
+            Files.deleteIfExists(rejectsFile);
+        }
+        return new Result(rowsImported, rowsRejected, checkpoint.rowsImported, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Cuts the input into chunks of whole records and hands each to a parser, skipping lines already imported
+    private void readChunks(Path file, Format format, long skipLines, ExecutorService parsers,
+                            BlockingQueue<CompletableFuture<ParsedChunk>> pending) {
+        try {
+            try (BufferedReader in = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                LineSource lines = new LineSource(in);
+                Map<String, Integer> header = null;
+                if (format == Format.CSV) {
+                    String headerRecord = lines.next();
+                    if (headerRecord == null) {
+                        throw new IOException("Empty CSV file");
+                    }
+                    header = parseHeader(parseCsv(stripBom(headerRecord)));
+                }
+
+                List<String> records = new ArrayList<>(chunkSize);
+                List<Long> recordLines = new ArrayList<>(chunkSize);
+                String text;
+                while ((text = lines.next()) != null) {
+                    long firstLine = lines.number;
+                    if (firstLine == 1) {
+                        text = stripBom(text);
+                    }
+                    if (format == Format.CSV && !quotesBalanced(text)) {
+                        text = readQuotedRecord(text, lines);
+                    }
+                    if (lines.number <= skipLines || (text != null && text.isBlank())) {
+                        continue;
+                    }
+                    records.add(text);
+                    recordLines.add(firstLine);
+                    if (records.size() == chunkSize) {
+                        submit(format, header, records, recordLines, lines.number, parsers, pending);
+                        records = new ArrayList<>(chunkSize);
+                        recordLines = new ArrayList<>(chunkSize);
+                    }
+                }
+                if (!records.isEmpty() || lines.number > skipLines) {
+                    submit(format, header, records, recordLines, lines.number, parsers, pending);
+                }
+            }
+            pending.put(CompletableFuture.completedFuture(END));
+        } catch (IOException | RuntimeException e) {
+            try {
+                // The writer keeps taking until it sees this, so a full queue only delays it
+                pending.put(CompletableFuture.failedFuture(e));
+            } catch (InterruptedException abandoned) {
+                // The writer gave up already
+            }
+        } catch (InterruptedException e) {
+            // The import was abandoned
+        }
+    }
+
+    // Joins the lines of a record whose quoted field spans line breaks. A quote that is still
+    // open after MAX_RECORD_LINES lines, or at the end of the file, is taken to be a stray one:
+    // the first line is returned as null (rejected) and the lines after it are read again.
+    private static String readQuotedRecord(String firstLine, LineSource lines) throws IOException {
+        List<String> continuation = new ArrayList<>();
+        StringBuilder text = new StringBuilder(firstLine);
+        boolean balanced = false;
+        while (!balanced && continuation.size() < MAX_RECORD_LINES - 1) {
+            String next = lines.next();
+            if (next == null) {
+                break;
+            }
+            continuation.add(next);
+            text.append('\n').append(next);
+            balanced = quotesBalanced(text);
+        }
+        if (balanced) {
+            return text.toString();
+        }
+        lines.pushBack(continuation);
+        return null;
+    }
+
+    private static void submit(Format format, Map<String, Integer> header, List<String> records, List<Long> recordLines,
+                               long lastLine, ExecutorService parsers,
+                               BlockingQueue<CompletableFuture<ParsedChunk>> pending) throws InterruptedException {
+        pending.put(CompletableFuture.supplyAsync(() -> parseChunk(format, header, records, recordLines, lastLine),
+                parsers));
+    }
+
+    private static ParsedChunk parseChunk(Format format, Map<String, Integer> header, List<String> records,
+                                          List<Long> recordLines, long lastLine) {
+        List<ImportRow> rows = new ArrayList<>(records.size());
+        List<String> rejects = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            if (records.get(i) == null) {
+                rejects.add("line " + recordLines.get(i) + ": unbalanced quotes");
+                continue;
+            }
+            try {
+                rows.add(format == Format.CSV
+                        ? toRow(parseCsv(records.get(i)), header)
+                        : toRow(parseJsonObject(records.get(i))));
+            } catch (IllegalArgumentException e) {
+                rejects.add("line " + recordLines.get(i) + ": " + e.getMessage());
+            }
+        }
+        return new ParsedChunk(rows, rejects, lastLine);
+    }
+
+    private static Map<String, Integer> parseHeader(List<String> names) throws IOException {
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (int f = QUESTION; f <= CORRECT; f++) {
+            if (!header.containsKey(FIELD_NAMES[f])) {
+                throw new IOException("CSV header has no '" + FIELD_NAMES[f] + "' column");
+            }
+        }
+        return header;
+    }
+
+    private static ImportRow toRow(List<String> fields, Map<String, Integer> header) {
+        Map<String, String> values = new HashMap<>();
+        header.forEach((name, position) -> values.put(name, position < fields.size() ? fields.get(position) : null));
+        return toRow(values);
+    }
+
+    // Validates one record; the message of the exception says why it was rejected
+    static ImportRow toRow(Map<String, String> values) {
+        String[] fields = new String[FIELD_NAMES.length];
+        for (int f = 0; f < fields.length; f++) {
+            String value = values.get(FIELD_NAMES[f]);
+            fields[f] = value == null || value.isBlank() ? null : value.trim();
+            if (fields[f] == null && f != CATEGORY) {
+                throw new IllegalArgumentException("missing " + FIELD_NAMES[f]);
+            }
+            int limit = f == CATEGORY ? MAX_CATEGORY_LENGTH : MAX_OPTION_LENGTH;
+            if (f != QUESTION && fields[f] != null && fields[f].length() > limit) {
+                throw new IllegalArgumentException(FIELD_NAMES[f] + " is longer than " + limit + " characters");
+            }
+        }
+        for (int f = A; f < CORRECT; f++) {
+            for (int g = f + 1; g < CORRECT; g++) {
+                if (fields[f].equalsIgnoreCase(fields[g])) {
+                    throw new IllegalArgumentException("options " + FIELD_NAMES[f] + " and " + FIELD_NAMES[g] + " are the same");
+                }
+            }
+        }
+
+        // Same matching rule as grading; the stored answer is the option's own text
+        Question question = new Question(0, fields[QUESTION], fields[A], fields[A + 1], fields[A + 2], fields[A + 3],
+                fields[CORRECT]);
+        if (question.getCorrectOption() == Question.NO_OPTION) {
+            throw new IllegalArgumentException("correct answer '" + fields[CORRECT] + "' matches none of a-d");
+        }
+        fields[CORRECT] = question.getOption(question.getCorrectOption());
+
+        Integer id = null;
+        String idValue = values.get("id");
+        if (idValue != null && !idValue.isBlank()) {
+            try {
+                id = Integer.parseInt(idValue.trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("id '" + idValue + "' is not a number");
+            }
+        }
+        return new ImportRow(id, fields);
+    }
+
+    // One CSV record (RFC 4180 quoting) into its fields
+    static List<String> parseCsv(String record) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < record.length(); i++) {
+            char c = record.charAt(i);
+            if (quoted) {
+                if (c == '"') {
+                    if (i + 1 < record.length() && record.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c != '\r') {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static boolean quotesBalanced(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 == 0;
+    }
+
+    private static String stripBom(String text) {
+        return !text.isEmpty() && text.charAt(0) == '﻿' ? text.substring(1) : text;
+    }
+
+    // A flat JSON object of string, number, boolean or null values; keys are lower-cased
+    static Map<String, String> parseJsonObject(String line) {
+        Map<String, String> values = new HashMap<>();
+        int[] pos = {skipWhitespace(line, 0)};
+        expect(line, pos, '{');
+        if (peek(line, pos) == '}') {
+            pos[0]++;
+            return values;
+        }
+        while (true) {
+            String key = readJsonString(line, pos);
+            expect(line, pos, ':');
+            char c = peek(line, pos);
+            String value;
+            if (c == '"') {
+                value = readJsonString(line, pos);
+            } else {
+                int start = pos[0];
+                while (pos[0] < line.length() && ",} \t\r".indexOf(line.charAt(pos[0])) < 0) {
+                    pos[0]++;
+                }
+                value = line.substring(start, pos[0]);
+                if (value.isEmpty()) {
+                    throw new IllegalArgumentException("malformed JSON near column " + (start + 1));
+                }
+                if (value.equals("null")) {
+                    value = null;
+                }
+            }
+            values.put(key.toLowerCase(Locale.ROOT), value);
+            char next = peek(line, pos);
+            pos[0]++;
+            if (next == '}') {
+                return values;
+            }
+            if (next != ',') {
+                throw new IllegalArgumentException("malformed JSON near column " + pos[0]);
+            }
+        }
+    }
+
+    private static String readJsonString(String line, int[] pos) {
+        expect(line, pos, '"');
+        StringBuilder out = new StringBuilder();
+        while (pos[0] < line.length()) {
+            char c = line.charAt(pos[0]++);
+            if (c == '"') {
+                return out.toString();
+            }
+            if (c != '\\') {
+                out.append(c);
+                continue;
+            }
+            if (pos[0] >= line.length()) {
+                break;
+            }
+            char escaped = line.charAt(pos[0]++);
+            switch (escaped) {
+                case 'n': out.append('\n'); break;
+                case 't': out.append('\t'); break;
+                case 'r': out.append('\r'); break;
+                case 'b': out.append('\b'); break;
+                case 'f': out.append('\f'); break;
+                case 'u':
+                    if (pos[0] + 4 > line.length()) {
+                        throw new IllegalArgumentException("malformed JSON escape");
+                    }
+                    try {
+                        out.append((char) Integer.parseInt(line.substring(pos[0], pos[0] + 4), 16));
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("malformed JSON escape");
+                    }
+                    pos[0] += 4;
+                    break;
+                default: out.append(escaped);
+            }
+        }
+        throw new IllegalArgumentException("unterminated JSON string");
+    }
+
+    private static void expect(String line, int[] pos, char expected) {
+        if (peek(line, pos) != expected) {
+            throw new IllegalArgumentException("malformed JSON: expected '" + expected + "' at column " + (pos[0] + 1));
+        }
+        pos[0]++;
+    }
+
+    // Next non-whitespace character, leaving pos on it (0 at the end of the line)
+    private static char peek(String line, int[] pos) {
+        pos[0] = skipWhitespace(line, pos[0]);
+        return pos[0] < line.length() ? line.charAt(pos[0]) : 0;
+    }
+
+    private static int skipWhitespace(String line, int pos) {
+        while (pos < line.length() && Character.isWhitespace(line.charAt(pos))) {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static void createTables(Connection connection) throws SQLException {
+        try (Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS questions (
+                    id INT AUTO_INCREMENT PRIMARY KEY,
+                    question TEXT,
+                    a VARCHAR(255),
+                    b VARCHAR(255),
+                    c VARCHAR(255),
+                    d VARCHAR(255),
+                    correct VARCHAR(255),
+                    category VARCHAR(64)
+                )
+            """);
+            stmt.executeUpdate("""
+                CREATE TABLE IF NOT EXISTS question_imports (
+                    source VARCHAR(512) PRIMARY KEY,
+                    source_fingerprint VARCHAR(64) NOT NULL,
+                    lines_done BIGINT NOT NULL,
+                    rows_imported BIGINT NOT NULL,
+                    rows_rejected BIGINT NOT NULL,
+                    finished BOOLEAN NOT NULL,
+                    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+                )
+            """);
+        }
+    }
+
+    private static boolean hasColumn(Connection connection, String column) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT * FROM questions WHERE 1 = 0")) {
+            return new RowMapper.Columns(rs.getMetaData()).find(column) > 0;
+        }
+    }
+
+    private void insertRows(Connection connection, List<ImportRow> rows, boolean withCategory) throws SQLException {
+        // Explicit ids and generated ids need different column lists
+        List<ImportRow> withId = new ArrayList<>();
+        List<ImportRow> withoutId = new ArrayList<>();
+        for (ImportRow row : rows) {
+            (row.id != null ? withId : withoutId).add(row);
+        }
+        insertRows(connection, withId, withCategory, true);
+        insertRows(connection, withoutId, withCategory, false);
+    }
+
+    private void insertRows(Connection connection, List<ImportRow> rows, boolean withCategory, boolean withId)
+            throws SQLException {
+        int columns = 6 + (withCategory ? 1 : 0) + (withId ? 1 : 0);
+        PreparedStatement full = null;
+        try {
+            for (int from = 0; from < rows.size(); from += ROWS_PER_INSERT) {
+                int count = Math.min(ROWS_PER_INSERT, rows.size() - from);
+                PreparedStatement pstmt;
+                if (count == ROWS_PER_INSERT) {
+                    if (full == null) {
+                        full = connection.prepareStatement(insertSql(count, withCategory, withId));
+                    }
+                    pstmt = full;
+                } else {
+                    pstmt = connection.prepareStatement(insertSql(count, withCategory, withId));
+                }
+                try {
+                    int parameter = 1;
+                    for (ImportRow row : rows.subList(from, from + count)) {
+                        for (int f = QUESTION; f <= CORRECT; f++) {
+                            pstmt.setString(parameter++, row.fields[f]);
+                        }
+                        if (withCategory) {
+                            if (row.fields[CATEGORY] != null) {
+                                pstmt.setString(parameter++, row.fields[CATEGORY]);
+                            } else {
+                                pstmt.setNull(parameter++, Types.VARCHAR);
+                            }
+                        }
+                        if (withId) {
+                            pstmt.setInt(parameter++, row.id);
+                        }
+                    }
+                    if (parameter != count * columns + 1) {
+                        throw new IllegalStateException("Bound " + (parameter - 1) + " of " + count * columns + " parameters");
+                    }
+                    pstmt.executeUpdate();
+                } finally {
+                    if (pstmt != full) {
+                        pstmt.close();
+                    }
+                }
+            }
+        } finally {
+            if (full != null) {
+                full.close();
+            }
+        }
+    }
+
+    private static String insertSql(int rows, boolean withCategory, boolean withId) {
+        String row = "(?, ?, ?, ?, ?, ?" + (withCategory ? ", ?" : "") + (withId ? ", ?" : "") + ")";
+        StringBuilder sql = new StringBuilder("INSERT INTO questions (question, a, b, c, d, correct")
+                .append(withCategory ? ", category" : "")
+                .append(withId ? ", id" : "")
+                .append(") VALUES ");
+        for (int i = 0; i < rows; i++) {
+            sql.append(i == 0 ? "" : ", ").append(row);
+        }
+        return sql.toString();
+    }
+
+    private static Checkpoint readCheckpoint(Connection connection, String source) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "SELECT source_fingerprint, lines_done, rows_imported, rows_rejected, finished FROM question_imports WHERE source = ?")) {
+            pstmt.setString(1, source);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return rs.next()
+                        ? new Checkpoint(rs.getString(1), rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getBoolean(5))
+                        : null;
+            }
+        }
+    }
+
+    private static void deleteCheckpoint(Connection connection, String source) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM question_imports WHERE source = ?")) {
+            pstmt.setString(1, source);
+            pstmt.executeUpdate();
+        }
+    }
+
+    // Runs inside the chunk's transaction, so the checkpoint moves only when the rows are in
+    private static void saveCheckpoint(Connection connection, String source, Checkpoint checkpoint) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement("""
+                UPDATE question_imports
+                SET source_fingerprint = ?, lines_done = ?, rows_imported = ?, rows_rejected = ?, finished = ?,
+                    updated_at = CURRENT_TIMESTAMP
+                WHERE source = ?
+            """)) {
+            update.setString(1, checkpoint.fingerprint);
+            update.setLong(2, checkpoint.linesDone);
+            update.setLong(3, checkpoint.rowsImported);
+            update.setLong(4, checkpoint.rowsRejected);
+            update.setBoolean(5, checkpoint.finished);
+            update.setString(6, source);
+            if (update.executeUpdate() > 0) {
+                return;
+            }
+        }
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO question_imports (source, source_fingerprint, lines_done, rows_imported, rows_rejected, finished)
+                VALUES (?, ?, ?, ?, ?, ?)
+            """)) {
+            insert.setString(1, source);
+            insert.setString(2, checkpoint.fingerprint);
+            insert.setLong(3, checkpoint.linesDone);
+            insert.setLong(4, checkpoint.rowsImported);
+            insert.setLong(5, checkpoint.rowsRejected);
+            insert.setBoolean(6, checkpoint.finished);
+            insert.executeUpdate();
+        }
+    }
+
+    private enum Format {
+        CSV, JSON_LINES;
+
+        static Format of(Path file) throws IOException {
+            String name = file.getFileName().toString().toLowerCase(Locale.ROOT);
+            if (name.endsWith(".csv")) {
+                return CSV;
+            }
+            if (name.endsWith(".jsonl") || name.endsWith(".ndjson") || name.endsWith(".json")) {
+                return JSON_LINES;
+            }
+            throw new IOException("Unknown input format for " + file + " (expected .csv or .jsonl)");
+        }
+    }
+
+    // Numbered lines of the input, with lines that were read ahead put back in front
+    private static final class LineSource {
+        private final BufferedReader in;
+        private final ArrayDeque<String> pushedBack = new ArrayDeque<>();
+        // Number of the line returned last
+        long number;
+
+        LineSource(BufferedReader in) {
+            this.in = in;
+        }
+
+        String next() throws IOException {
+            String line;
+            try {
+                line = pushedBack.isEmpty() ? in.readLine() : pushedBack.pollFirst();
+            } catch (CharacterCodingException e) {
+                // The decoder reads ahead, so the bad bytes are somewhere past this line
+                throw new IOException("Input is not valid UTF-8 after line " + number, e);
+            }
+            if (line != null) {
+                number++;
+            }
+            return line;
+        }
+
+        void pushBack(List<String> lines) {
+            for (int i = lines.size() - 1; i >= 0; i--) {
+                pushedBack.addFirst(lines.get(i));
+            }
+            number -= lines.size();
+        }
+    }
+
+    // A validated question ready to insert; id is null when the database assigns it
+    static final class ImportRow {
+        final Integer id;
+        final String[] fields;
+
+        ImportRow(Integer id, String[] fields) {
+            this.id = id;
+            this.fields = fields;
+        }
+    }
+
+    private static final class ParsedChunk {
+        final List<ImportRow> rows;
+        final List<String> rejects;
+        // Last input line the chunk covers
+        final long lastLine;
+
+        ParsedChunk(List<ImportRow> rows, List<String> rejects, long lastLine) {
+            this.rows = rows;
+            this.rejects = rejects;
+            this.lastLine = lastLine;
+        }
+    }
+
+    private static final class Checkpoint {
+        final String fingerprint;
+        final long linesDone;
+        final long rowsImported;
+        final long rowsRejected;
+        final boolean finished;
+
+        Checkpoint(String fingerprint, long linesDone, long rowsImported, long rowsRejected, boolean finished) {
+            this.fingerprint = fingerprint;
+            this.linesDone = linesDone;
+            this.rowsImported = rowsImported;
+            this.rowsRejected = rowsRejected;
+            this.finished = finished;
+        }
+    }
+
+    // Inner class for the outcome of one run
+    public static class Result {
+        private final long rowsImported;
+        private final long rowsRejected;
+        private final long rowsFromEarlierRuns;
+        private final long elapsedMillis;
+
+        public Result(long rowsImported, long rowsRejected, long rowsFromEarlierRuns, long elapsedMillis) {
+            this.rowsImported = rowsImported;
+            this.rowsRejected = rowsRejected;
+            this.rowsFromEarlierRuns = rowsFromEarlierRuns;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        // Getters
+        public long getRowsImported() { return rowsImported; }
+        public long getRowsRejected() { return rowsRejected; }
+        public long getRowsFromEarlierRuns() { return rowsFromEarlierRuns; }
+        public long getElapsedMillis() { return elapsedMillis; }
+
+        public double getRowsPerSecond() {
+            return elapsedMillis > 0 ? rowsImported * 1000.0 / elapsedMillis : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Imported %,d rows (%,d rejected, %,d from earlier runs) in %.1f s, %,.0f rows/s",
+                    rowsImported, rowsRejected, rowsFromEarlierRuns, elapsedMillis / 1000.0, getRowsPerSecond());
+        }
+    }
+}
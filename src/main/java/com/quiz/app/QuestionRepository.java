@@ -0,0 +1,65 @@
+package com.quiz.app;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Where the question catalog comes from.
+ * <p>
+ * {@link DatabaseManager} serves it from MySQL or an embedded H2 database and
+ * {@link FileQuestionRepository} from a read-only snapshot file. Delta sync is optional: a
+ * repository without change tracking keeps the defaults, and {@link QuizManager} then reloads
+ * the whole catalog on refresh.
+ */
+public interface QuestionRepository extends AutoCloseable {
+
+    // Whether questions can be read right now
+    boolean isAvailable();
+
+    // Streams every question to the consumer; returns false if the read failed part way
+    boolean forEachQuestion(Consumer<com.quiz.app.Question> consumer);
+
+    default List<com.quiz.app.Question> getAllQuestions() {
+        List<com.quiz.app.Question> questions = new ArrayList<>();
+        forEachQuestion(questions::add);
+        return questions;
+    }
+
+    List<com.quiz.app.Question> getRandomQuestions(int count);
+
+    // Answer counts recorded against this repository's questions
+    QuestionTelemetry getQuestionTelemetry();
+
+    default boolean isChangeTrackingEnabled() {
+        return false;
+    }
+
+    // High-water mark for the next delta query, or null if unsupported or failed
+    default Timestamp getSyncMark() {
+        return null;
+    }
+
+    // Changes when the stored shape of questions does; null if unknown
+    default String getQuestionsSchemaFingerprint() {
+        return null;
+    }
+
+    // Questions inserted or updated at or after the mark, or null if unsupported or failed
+    default List<com.quiz.app.Question> getQuestionsChangedSince(Timestamp since) {
+        return null;
+    }
+
+    // Ids of questions deleted at or after the mark, or null if unsupported or failed
+    default int[] getDeletedQuestionIdsSince(Timestamp since) {
+        return null;
+    }
+
+    // Drops anything cached about which questions exist
+    default void invalidateQuestionIdCache() {
+    }
+
+    @Override
+    void close();
+}
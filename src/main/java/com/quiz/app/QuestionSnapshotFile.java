@@ -0,0 +1,200 @@
+package com.quiz.app;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Local binary copy of the question catalog, so the quiz starts without waiting for MySQL and
+ * keeps working when it is down.
+ * <p>
+ * The file holds the columns of a {@link CompactQuestionStore} behind a small header (magic,
+ * format version, write time, the catalog's sync mark and schema fingerprint), followed by a
+ * CRC32 of everything before it. It is read through a memory-mapped channel and replaced
+ * atomically on write, so a crash mid-write leaves the previous snapshot intact.
+ */
+final class QuestionSnapshotFile {
+
+    private static final int MAGIC = 0x515A534E; // "QZSN"
+    static final int VERSION = 1;
+
+    private QuestionSnapshotFile() {}
+
+    // What a snapshot file holds
+    static final class Contents {
+        final List<Question> questions;
+        final Timestamp syncMark;
+        final String schemaFingerprint;
+        final long writtenAt;
+
+        Contents(List<Question> questions, Timestamp syncMark, String schemaFingerprint, long writtenAt) {
+            this.questions = questions;
+            this.syncMark = syncMark;
+            this.schemaFingerprint = schemaFingerprint;
+            this.writtenAt = writtenAt;
+        }
+    }
+
+    static void write(Path file, QuestionCatalog catalog) throws IOException {
+        CompactQuestionStore store = CompactQuestionStore.of(catalog.getQuestions());
+        int[] ids = store.ids();
+        byte[] correct = store.correctIndexes();
+        int[] categories = store.categoryIndexes();
+        int[] offsets = store.offsets();
+        byte[] arena = store.arena();
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        try (DataOutputStream header = new DataOutputStream(headerBytes)) {
+            header.writeInt(MAGIC);
+            header.writeInt(VERSION);
+            header.writeLong(System.currentTimeMillis());
+            header.writeLong(catalog.getSyncMark() != null ? catalog.getSyncMark().getTime() : Long.MIN_VALUE);
+            writeString(header, catalog.getSchemaFingerprint());
+            header.writeInt(ids.length);
+            header.writeInt(arena.length);
+            String[] categoryNames = store.categoryNames();
+            header.writeInt(categoryNames.length);
+            for (String name : categoryNames) {
+                writeString(header, name);
+            }
+            Map<Integer, String> unmatched = store.unmatchedCorrect();
+            header.writeInt(unmatched.size());
+            for (Map.Entry<Integer, String> entry : unmatched.entrySet()) {
+                header.writeInt(entry.getKey());
+                writeString(header, entry.getValue());
+            }
+        }
+
+        long size = (long) headerBytes.size() + 4L * ids.length + correct.length + 4L * categories.length
+                + 4L * offsets.length + arena.length + 4;
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Catalog too large for a snapshot file (" + size + " bytes)");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) size);
+        buffer.put(headerBytes.toByteArray());
+        putInts(buffer, ids);
+        buffer.put(correct);
+        putInts(buffer, categories);
+        putInts(buffer, offsets);
+        buffer.put(arena);
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+        buffer.flip();
+
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Reads and verifies a snapshot; throws if it is missing, from another format version or corrupt
+    static Contents read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 32 || size > Integer.MAX_VALUE) {
+                throw new IOException("Unexpected snapshot size " + size);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a question snapshot");
+            }
+            int version = buffer.getInt(4);
+            if (version != VERSION) {
+                throw new IOException("Snapshot format version " + version + ", expected " + VERSION);
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().limit((int) size - 4));
+            if ((int) crc.getValue() != buffer.getInt((int) size - 4)) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            try {
+                buffer.position(8);
+                long writtenAt = buffer.getLong();
+                long syncMillis = buffer.getLong();
+                String fingerprint = readString(buffer);
+                int count = buffer.getInt();
+                int arenaLength = buffer.getInt();
+                String[] categoryNames = new String[buffer.getInt()];
+                for (int i = 0; i < categoryNames.length; i++) {
+                    categoryNames[i] = readString(buffer);
+                }
+                int unmatchedCount = buffer.getInt();
+                Map<Integer, String> unmatched = new HashMap<>();
+                for (int i = 0; i < unmatchedCount; i++) {
+                    unmatched.put(buffer.getInt(), readString(buffer));
+                }
+
+                int[] ids = getInts(buffer, count);
+                byte[] correct = new byte[count];
+                buffer.get(correct);
+                int[] categories = getInts(buffer, count);
+                int[] offsets = getInts(buffer, count * CompactQuestionStore.FIELDS + 1);
+                byte[] arena = new byte[arenaLength];
+                buffer.get(arena);
+
+                CompactQuestionStore store = new CompactQuestionStore(ids, correct, offsets, arena, unmatched,
+                        categories, categoryNames);
+                return new Contents(store.asList(), syncMillis == Long.MIN_VALUE ? null : new Timestamp(syncMillis),
+                        fingerprint, writtenAt);
+            } catch (RuntimeException e) {
+                // Checksum matched but the layout doesn't add up
+                throw new IOException("Malformed snapshot: " + e, e);
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void putInts(ByteBuffer buffer, int[] values) {
+        buffer.asIntBuffer().put(values);
+        buffer.position(buffer.position() + values.length * 4);
+    }
+
+    private static int[] getInts(ByteBuffer buffer, int count) {
+        int[] values = new int[count];
+        buffer.asIntBuffer().get(values);
+        buffer.position(buffer.position() + count * 4);
+        return values;
+    }
+}
@@ -0,0 +1,217 @@
+package com.quiz.app;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-question answer counts and response-time histograms, fed by quiz grading.
+ * <p>
+ * Updates go to LongAdders, so concurrent sessions never contend on a lock. Counts added since
+ * the last flush are taken with {@link #drain()} and written to the database in one batch; what
+ * has already been written (or loaded at startup) is kept as a baseline, so the observed
+ * difficulty covers the question's whole history.
+ */
+public class QuestionTelemetry {
+
+    // Inclusive upper bounds of the response-time buckets; one more bucket holds anything slower
+    static final long[] BUCKET_BOUNDS_MILLIS = {1_000, 2_000, 5_000, 10_000, 20_000, 30_000};
+    public static final int BUCKETS = BUCKET_BOUNDS_MILLIS.length + 1;
+
+    // Answers needed before the observed correct rate replaces the text-length guess
+    static final int MIN_SAMPLES_FOR_DIFFICULTY = 20;
+    static final double EASY_CORRECT_RATE = 0.7;
+    static final double MEDIUM_CORRECT_RATE = 0.4;
+
+    // Layout of each question's counters
+    static final int CORRECT = 0;
+    static final int WRONG = 1;
+    static final int TIMEOUTS = 2;
+    static final int RESPONSE_MILLIS = 3;
+    static final int FIRST_BUCKET = 4;
+    static final int FIELDS = FIRST_BUCKET + BUCKETS;
+
+    private final Map<Integer, Counters> counters = new ConcurrentHashMap<>();
+
+    public void recordAnswer(int questionId, boolean correct, long responseMillis) {
+        Counters c = countersFor(questionId);
+        c.pending[correct ? CORRECT : WRONG].increment();
+        if (responseMillis >= 0) {
+            c.pending[RESPONSE_MILLIS].add(responseMillis);
+            c.pending[FIRST_BUCKET + bucketOf(responseMillis)].increment();
+        }
+    }
+
+    public void recordTimeout(int questionId) {
+        countersFor(questionId).pending[TIMEOUTS].increment();
+    }
+
+    static int bucketOf(long responseMillis) {
+        for (int i = 0; i < BUCKET_BOUNDS_MILLIS.length; i++) {
+            if (responseMillis <= BUCKET_BOUNDS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return BUCKET_BOUNDS_MILLIS.length;
+    }
+
+    // Totals loaded from the database at startup
+    public void seed(QuestionStats stats) {
+        Counters c = countersFor(stats.getQuestionId());
+        synchronized (c) {
+            long[] baseline = c.baseline.clone();
+            for (int i = 0; i < FIELDS; i++) {
+                baseline[i] += stats.values[i];
+            }
+            c.baseline = baseline;
+        }
+    }
+
+    // Everything recorded since the last drain; the counts move into the baseline
+    public List<QuestionStats> drain() {
+        List<QuestionStats> deltas = new ArrayList<>();
+        counters.forEach((questionId, c) -> {
+            long[] delta = new long[FIELDS];
+            boolean any = false;
+            for (int i = 0; i < FIELDS; i++) {
+                delta[i] = c.pending[i].sumThenReset();
+                any |= delta[i] != 0;
+            }
+            if (any) {
+                synchronized (c) {
+                    long[] baseline = c.baseline.clone();
+                    for (int i = 0; i < FIELDS; i++) {
+                        baseline[i] += delta[i];
+                    }
+                    c.baseline = baseline;
+                }
+                deltas.add(new QuestionStats(questionId, delta));
+            }
+        });
+        return deltas;
+    }
+
+    // Puts drained counts back after a failed flush, so the next drain retries them
+    public void restore(List<QuestionStats> deltas) {
+        for (QuestionStats delta : deltas) {
+            Counters c = countersFor(delta.getQuestionId());
+            synchronized (c) {
+                long[] baseline = c.baseline.clone();
+                for (int i = 0; i < FIELDS; i++) {
+                    baseline[i] -= delta.values[i];
+                    c.pending[i].add(delta.values[i]);
+                }
+                c.baseline = baseline;
+            }
+        }
+    }
+
+    // All-time totals for a question (zeros if it was never answered)
+    public QuestionStats getStats(int questionId) {
+        Counters c = counters.get(questionId);
+        long[] values = new long[FIELDS];
+        if (c != null) {
+            long[] baseline = c.baseline;
+            for (int i = 0; i < FIELDS; i++) {
+                values[i] = baseline[i] + c.pending[i].sum();
+            }
+        }
+        return new QuestionStats(questionId, values);
+    }
+
+    // Difficulty from the observed correct rate once there are enough answers, else the question's own guess
+    public Difficulty getDifficulty(Question question) {
+        Counters c = counters.get(question.getId());
+        if (c == null) {
+            return question.getDifficulty();
+        }
+        long[] baseline = c.baseline;
+        long correct = baseline[CORRECT] + c.pending[CORRECT].sum();
+        long attempts = correct + baseline[WRONG] + c.pending[WRONG].sum()
+                + baseline[TIMEOUTS] + c.pending[TIMEOUTS].sum();
+        if (attempts < MIN_SAMPLES_FOR_DIFFICULTY) {
+            return question.getDifficulty();
+        }
+        double correctRate = (double) correct / attempts;
+        if (correctRate >= EASY_CORRECT_RATE) {
+            return Difficulty.EASY;
+        } else if (correctRate >= MEDIUM_CORRECT_RATE) {
+            return Difficulty.MEDIUM;
+        } else {
+            return Difficulty.HARD;
+        }
+    }
+
+    public int getTrackedQuestionCount() {
+        return counters.size();
+    }
+
+    private Counters countersFor(int questionId) {
+        Counters c = counters.get(questionId);
+        return c != null ? c : counters.computeIfAbsent(questionId, id -> new Counters());
+    }
+
+    private static final class Counters {
+        final LongAdder[] pending = new LongAdder[FIELDS];
+        // Replaced, never modified, so readers see a consistent copy
+        volatile long[] baseline = new long[FIELDS];
+
+        Counters() {
+            for (int i = 0; i < FIELDS; i++) {
+                pending[i] = new LongAdder();
+            }
+        }
+    }
+
+    // Inner class for one question's counts (totals, or a delta to flush)
+    public static class QuestionStats {
+        private final int questionId;
+        private final long[] values;
+
+        public QuestionStats(int questionId, long correct, long wrong, long timeouts, long responseMillisTotal,
+                             long[] responseHistogram) {
+            this.questionId = questionId;
+            this.values = new long[FIELDS];
+            values[CORRECT] = correct;
+            values[WRONG] = wrong;
+            values[TIMEOUTS] = timeouts;
+            values[RESPONSE_MILLIS] = responseMillisTotal;
+            System.arraycopy(responseHistogram, 0, values, FIRST_BUCKET, BUCKETS);
+        }
+
+        private QuestionStats(int questionId, long[] values) {
+            this.questionId = questionId;
+            this.values = values;
+        }
+
+        // Getters
+        public int getQuestionId() { return questionId; }
+        public long getCorrect() { return values[CORRECT]; }
+        public long getWrong() { return values[WRONG]; }
+        public long getTimeouts() { return values[TIMEOUTS]; }
+        public long getResponseMillisTotal() { return values[RESPONSE_MILLIS]; }
+        public long getResponseCount(int bucket) { return values[FIRST_BUCKET + bucket]; }
+        public long getAttempts() { return values[CORRECT] + values[WRONG] + values[TIMEOUTS]; }
+
+        public double getCorrectRate() {
+            long attempts = getAttempts();
+            return attempts > 0 ? (double) values[CORRECT] / attempts : 0;
+        }
+
+        public double getAverageResponseMillis() {
+            long timed = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                timed += values[FIRST_BUCKET + i];
+            }
+            return timed > 0 ? (double) values[RESPONSE_MILLIS] / timed : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("QuestionStats{id=%d, correct=%d, wrong=%d, timeouts=%d, avgResponse=%.0fms}",
+                    questionId, getCorrect(), getWrong(), getTimeouts(), getAverageResponseMillis());
+        }
+    }
+}
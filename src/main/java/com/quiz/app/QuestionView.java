@@ -0,0 +1,123 @@
+package com.quiz.app;
+
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.RadioButton;
+import javafx.scene.control.ScrollPane;
+import javafx.scene.control.Toggle;
+import javafx.scene.control.ToggleGroup;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.VBox;
+
+/**
+ * The question screen, built once and rebound to each question.
+ * <p>
+ * Rebinding only changes label text and user data, so moving to the next question costs no
+ * node creation, no inline-style parsing and no new {@link Scene}. Styling lives in quiz.css.
+ */
+public class QuestionView {
+
+    private static final String[] OPTION_LABELS = {"A", "B", "C", "D"};
+    private static final String TIMER_WARNING = "timer-warning";
+
+    private final Scene scene;
+    private final Label progressLabel = new Label();
+    private final Label timerLabel = new Label();
+    private final Label questionLabel = new Label();
+    private final ToggleGroup optionsGroup = new ToggleGroup();
+    private final RadioButton[] options = new RadioButton[OPTION_LABELS.length];
+    private final Button nextButton = new Button("Next Question");
+    private final Button exitButton = new Button("Exit Quiz");
+    private int boundIndex = -1;
+
+    public QuestionView(Runnable onNext, Runnable onExit) {
+        progressLabel.getStyleClass().add("progress-label");
+        timerLabel.getStyleClass().add("timer-label");
+
+        Region spacer = new Region();
+        HBox.setHgrow(spacer, Priority.ALWAYS);
+
+        exitButton.getStyleClass().add("exit-quiz-button");
+        exitButton.setOnAction(e -> onExit.run());
+
+        HBox headerBox = new HBox(progressLabel, spacer, timerLabel, exitButton);
+        headerBox.getStyleClass().add("question-header");
+
+        questionLabel.getStyleClass().add("question-text");
+
+        VBox optionsBox = new VBox();
+        optionsBox.getStyleClass().add("options-box");
+        for (int i = 0; i < options.length; i++) {
+            options[i] = new RadioButton();
+            options[i].getStyleClass().add("option");
+            options[i].setToggleGroup(optionsGroup);
+            options[i].setUserData(i);
+            optionsBox.getChildren().add(options[i]);
+        }
+
+        VBox questionContainer = new VBox(questionLabel, optionsBox);
+        questionContainer.getStyleClass().add("question-card");
+
+        nextButton.getStyleClass().add("next-button");
+        nextButton.setOnAction(e -> onNext.run());
+
+        HBox buttonBox = new HBox(nextButton);
+        buttonBox.getStyleClass().add("button-bar");
+
+        VBox mainBox = new VBox(headerBox, questionContainer, buttonBox);
+        mainBox.getStyleClass().add("question-screen");
+
+        scene = new Scene(new ScrollPane(mainBox), 700, 500);
+        scene.getStylesheets().add(QuestionView.class.getResource("quiz.css").toExternalForm());
+    }
+
+    public Scene getScene() {
+        return scene;
+    }
+
+    // Shows the given question, clearing any previous selection and accepting input again
+    public void bind(Question question, int index, int total) {
+        boundIndex = index;
+        setInputEnabled(true);
+        progressLabel.setText("Question " + (index + 1) + " of " + total);
+        questionLabel.setText(question.getQuestion());
+
+        for (int i = 0; i < options.length; i++) {
+            options[i].setText(OPTION_LABELS[i] + ". " + question.getOption(i));
+        }
+        optionsGroup.selectToggle(null);
+    }
+
+    // Index within the session of the question on screen
+    public int getBoundIndex() {
+        return boundIndex;
+    }
+
+    // Locks the options and the Next button, e.g. once the question has timed out
+    public void setInputEnabled(boolean enabled) {
+        nextButton.setDisable(!enabled);
+        for (RadioButton option : options) {
+            option.setDisable(!enabled);
+        }
+    }
+
+    public void setTimeLeft(int seconds, boolean warning) {
+        timerLabel.setText("Time: " + seconds + "s");
+        if (warning) {
+            if (!timerLabel.getStyleClass().contains(TIMER_WARNING)) {
+                timerLabel.getStyleClass().add(TIMER_WARNING);
+            }
+        } else {
+            timerLabel.getStyleClass().remove(TIMER_WARNING);
+        }
+    }
+
+    // Index of the selected option (Question.OPTION_A..OPTION_D), or Question.NO_OPTION
+    public int getSelectedOption() {
+        Toggle selected = optionsGroup.getSelectedToggle();
+        return selected != null ? (Integer) selected.getUserData() : Question.NO_OPTION;
+    }
+}
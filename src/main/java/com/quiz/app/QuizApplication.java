@@ -15,31 +15,34 @@ import javafx.animation.Timeline;
 import javafx.animation.KeyFrame;
 import javafx.util.Duration;
 
-import java.util.List;
 import java.util.Optional;
 
 public class QuizApplication extends Application {
 
     private Stage primaryStage;
-    private DatabaseManager dbManager;
+    private QuizService quizService;
     private QuizManager quizManager;
+    private long launchNanos;
     private String playerName;
-    private int currentQuestionIndex = 0;
-    private int score = 0;
-    private List<Question> currentQuiz;
-    private Timeline timer;
-    private int timeLeft = 30; // 30 seconds per question
-    private Label timerLabel;
-    private VBox questionContainer;
-    private ToggleGroup optionsGroup;
-    private Button nextButton;
-    private Button exitButton;
+    // All quiz state lives in the session; the UI only renders it
+    private QuizSession session;
+    private static final int QUESTIONS_PER_QUIZ = 5;
+    private static final int TIMER_WARNING_SECONDS = 10;
+
+    // One ticking animation for the whole app, polling the session's clock
+    private Timeline ticker;
+    private int displayedSeconds = -1;
+    private QuestionView questionView;
+    // Parts of the welcome screen that change once the questions are loaded
+    private Label welcomeStatusLabel;
+    private Button welcomeStartButton;
 
     @Override
     public void start(Stage primaryStage) {
         this.primaryStage = primaryStage;
-        this.dbManager = new DatabaseManager();
-        this.quizManager = new QuizManager(dbManager);
+        this.launchNanos = System.nanoTime();
+        this.quizService = new QuizService();
+        QuizMetrics.registerMBean();
 
         primaryStage.setTitle("Bangladesh Quiz Application");
         primaryStage.setOnCloseRequest(e -> {
@@ -47,8 +50,28 @@ public class QuizApplication extends Application {
             handleExit();
         });
 
+        // Show the window right away; the database connects and loads in the background
         showWelcomeScreen();
         primaryStage.show();
+        System.out.println("Window shown after " + elapsedMillis() + " ms");
+
+        quizService.connect().whenCompleteAsync((manager, error) -> {
+            if (error != null) {
+                System.err.println("Error loading quiz data: " + error.getMessage());
+                welcomeStatusLabel.setText("Could not load questions");
+                showAlert("Error", "Could not load quiz data!");
+                return;
+            }
+            quizManager = manager;
+            System.out.println("Quiz data ready after " + elapsedMillis() + " ms");
+            // Enable the screen in place so a name typed while loading is kept
+            welcomeStatusLabel.setText("");
+            welcomeStartButton.setDisable(false);
+        }, Platform::runLater);
+    }
+
+    private long elapsedMillis() {
+        return (System.nanoTime() - launchNanos) / 1_000_000;
     }
 
     private void showWelcomeScreen() {
@@ -70,8 +93,14 @@ public class QuizApplication extends Application {
         nameField.setMaxWidth(300);
         nameField.setFont(Font.font(14));
 
+        boolean loading = quizManager == null;
+        Label statusLabel = new Label(loading ? "Loading questions..." : "");
+        statusLabel.setFont(Font.font("Arial", 12));
+        statusLabel.setTextFill(Color.WHITE);
+
         Button startButton = new Button("Start Quiz");
         startButton.setStyle("-fx-background-color: #FF6B6B; -fx-text-fill: white; -fx-font-size: 16px; -fx-padding: 10 20;");
+        startButton.setDisable(loading);
         startButton.setOnAction(e -> {
             String name = nameField.getText().trim();
             if (name.isEmpty()) {
@@ -86,163 +115,109 @@ public class QuizApplication extends Application {
         exitButton.setStyle("-fx-background-color: #666; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 8 16;");
         exitButton.setOnAction(e -> handleExit());
 
-        welcomeBox.getChildren().addAll(titleLabel, subLabel, nameField, startButton, exitButton);
+        welcomeBox.getChildren().addAll(titleLabel, subLabel, nameField, startButton, statusLabel, exitButton);
+        welcomeStatusLabel = statusLabel;
+        welcomeStartButton = startButton;
 
         Scene welcomeScene = new Scene(welcomeBox, 600, 400);
         primaryStage.setScene(welcomeScene);
     }
 
     private void startQuiz() {
-        currentQuiz = quizManager.getRandomQuestions(5);
-        if (currentQuiz.isEmpty()) {
-            showAlert("Error", "Could not load questions from database!");
-            return;
-        }
+        quizService.startSession(playerName, QUESTIONS_PER_QUIZ).whenCompleteAsync((started, error) -> {
+            if (error != null || started == null) {
+                showAlert("Error", "Could not load questions from database!");
+                return;
+            }
 
-        currentQuestionIndex = 0;
-        score = 0;
-        showQuestion();
+            session = started;
+            showQuestion();
+        }, Platform::runLater);
     }
 
     private void showQuestion() {
-        if (currentQuestionIndex >= currentQuiz.size()) {
+        if (session.isFinished()) {
             showResults();
             return;
         }
 
-        Question question = currentQuiz.get(currentQuestionIndex);
-
-        // Main container
-        VBox mainBox = new VBox(20);
-        mainBox.setPadding(new Insets(30));
-        mainBox.setStyle("-fx-background-color: #f5f5f5;");
-
-        // Header with timer and progress
-        HBox headerBox = new HBox();
-        headerBox.setAlignment(Pos.CENTER_LEFT);
-        headerBox.setSpacing(20);
-
-        Label progressLabel = new Label("Question " + (currentQuestionIndex + 1) + " of " + currentQuiz.size());
-        progressLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-
-        timerLabel = new Label("Time: 30s");
-        timerLabel.setFont(Font.font("Arial", FontWeight.BOLD, 16));
-        timerLabel.setTextFill(Color.DARKGREEN);
-
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-
-        exitButton = new Button("Exit Quiz");
-        exitButton.setStyle("-fx-background-color: #f44336; -fx-text-fill: white; -fx-font-size: 12px;");
-        exitButton.setOnAction(e -> handleExit());
-
-        headerBox.getChildren().addAll(progressLabel, spacer, timerLabel, exitButton);
-
-        // Question container
-        questionContainer = new VBox(15);
-        questionContainer.setStyle("-fx-background-color: white; -fx-padding: 20; -fx-border-radius: 10; -fx-background-radius: 10;");
-
-        Label questionLabel = new Label(question.getQuestion());
-        questionLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
-        questionLabel.setWrapText(true);
-
-        // Options
-        optionsGroup = new ToggleGroup();
-        VBox optionsBox = new VBox(10);
-
-        String[] options = {question.getA(), question.getB(), question.getC(), question.getD()};
-        String[] optionLabels = {"A", "B", "C", "D"};
-
-        for (int i = 0; i < options.length; i++) {
-            RadioButton option = new RadioButton(optionLabels[i] + ". " + options[i]);
-            option.setToggleGroup(optionsGroup);
-            option.setFont(Font.font("Arial", 14));
-            option.setUserData(options[i]);
-            optionsBox.getChildren().add(option);
+        // Build the question screen once and rebind it for every question
+        if (questionView == null) {
+            questionView = new QuestionView(this::handleNextQuestion, this::handleExit);
+        }
+        questionView.bind(session.getCurrentQuestion(), session.getCurrentQuestionIndex(), session.getTotalQuestions());
+        if (primaryStage.getScene() != questionView.getScene()) {
+            primaryStage.setScene(questionView.getScene());
         }
-
-        questionContainer.getChildren().addAll(questionLabel, optionsBox);
-
-        // Navigation buttons
-        HBox buttonBox = new HBox(10);
-        buttonBox.setAlignment(Pos.CENTER_RIGHT);
-
-        nextButton = new Button("Next Question");
-        nextButton.setStyle("-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-font-size: 14px; -fx-padding: 10 20;");
-        nextButton.setOnAction(e -> handleNextQuestion());
-
-        buttonBox.getChildren().add(nextButton);
-
-        mainBox.getChildren().addAll(headerBox, questionContainer, buttonBox);
-
-        Scene questionScene = new Scene(new ScrollPane(mainBox), 700, 500);
-        primaryStage.setScene(questionScene);
 
         startTimer();
     }
 
     private void startTimer() {
-        timeLeft = 30;
+        if (ticker == null) {
+            ticker = new Timeline(new KeyFrame(Duration.millis(100), e -> onClockTick()));
+            ticker.setCycleCount(Timeline.INDEFINITE);
+        }
+        displayedSeconds = -1;
         updateTimerLabel();
+        ticker.play();
+    }
 
-        if (timer != null) {
-            timer.stop();
+    private void stopTimer() {
+        if (ticker != null) {
+            ticker.stop();
         }
+    }
 
-        timer = new Timeline(new KeyFrame(Duration.seconds(1), e -> {
-            timeLeft--;
-            updateTimerLabel();
-
-            if (timeLeft <= 0) {
-                timer.stop();
-                handleTimeUp();
-            }
-        }));
-        timer.setCycleCount(Timeline.INDEFINITE);
-        timer.play();
+    private void onClockTick() {
+        if (session.checkTimeout()) {
+            stopTimer();
+            // The session has moved on; a click already queued must not answer the next question
+            questionView.setInputEnabled(false);
+            // Hold the next question's clock while the dialog is up
+            session.pause();
+            // Dialogs can't block inside an animation pulse
+            Platform.runLater(this::handleTimeUp);
+            return;
+        }
+        updateTimerLabel();
     }
 
     private void updateTimerLabel() {
-        timerLabel.setText("Time: " + timeLeft + "s");
-        if (timeLeft <= 10) {
-            timerLabel.setTextFill(Color.RED);
-        } else {
-            timerLabel.setTextFill(Color.DARKGREEN);
+        int timeLeft = session.getRemainingSeconds();
+        if (timeLeft != displayedSeconds) {
+            displayedSeconds = timeLeft;
+            questionView.setTimeLeft(timeLeft, timeLeft <= TIMER_WARNING_SECONDS);
         }
     }
 
     private void handleTimeUp() {
         showAlert("Time Up!", "Time's up! Moving to next question.");
-        currentQuestionIndex++;
+        session.resume();
         showQuestion();
     }
 
     private void handleNextQuestion() {
-        if (timer != null) {
-            timer.stop();
-        }
-
-        Toggle selectedToggle = optionsGroup.getSelectedToggle();
-        if (selectedToggle != null) {
-            String selectedAnswer = (String) selectedToggle.getUserData();
-            String correctAnswer = currentQuiz.get(currentQuestionIndex).getCorrect();
-
-            if (selectedAnswer.equals(correctAnswer)) {
-                score++;
-            }
+        // Ignore clicks for a question that already timed out
+        if (session.isFinished() || session.getCurrentQuestionIndex() != questionView.getBoundIndex()) {
+            return;
         }
-
-        currentQuestionIndex++;
+        stopTimer();
+        session.answer(questionView.getSelectedOption());
         showQuestion();
     }
 
     private void showResults() {
-        if (timer != null) {
-            timer.stop();
-        }
+        stopTimer();
 
-        // Save score to database
-        quizManager.saveScore(playerName, score);
+        // Save score to database in the background
+        QuizSession finished = session;
+        quizService.finishSession(finished.getId()).whenComplete((saved, error) -> {
+            if (error != null || !saved) {
+                System.err.println("Could not save score for " + finished.getPlayerName());
+            }
+        });
+        int score = finished.getScore();
 
         VBox resultsBox = new VBox(20);
         resultsBox.setAlignment(Pos.CENTER);
@@ -257,15 +232,19 @@ public class QuizApplication extends Application {
         nameLabel.setFont(Font.font("Arial", FontWeight.BOLD, 18));
         nameLabel.setTextFill(Color.WHITE);
 
-        Label scoreLabel = new Label("Score: " + score + " out of " + currentQuiz.size());
+        Label scoreLabel = new Label("Score: " + score + " out of " + finished.getTotalQuestions());
         scoreLabel.setFont(Font.font("Arial", FontWeight.BOLD, 20));
         scoreLabel.setTextFill(Color.WHITE);
 
-        double percentage = (double) score / currentQuiz.size() * 100;
+        double percentage = finished.getPercentage();
         Label percentageLabel = new Label(String.format("Percentage: %.1f%%", percentage));
         percentageLabel.setFont(Font.font("Arial", 16));
         percentageLabel.setTextFill(Color.WHITE);
 
+        Label timeLabel = new Label(String.format("Average answer time: %.1fs", finished.getAverageResponseMillis() / 1000));
+        timeLabel.setFont(Font.font("Arial", 14));
+        timeLabel.setTextFill(Color.WHITE);
+
         String performance;
         if (percentage >= 80) performance = "Excellent! 🎉";
         else if (percentage >= 60) performance = "Good job! 👍";
@@ -289,15 +268,16 @@ public class QuizApplication extends Application {
 
         buttonBox.getChildren().addAll(playAgainButton, exitButton);
 
-        resultsBox.getChildren().addAll(resultsTitle, nameLabel, scoreLabel, percentageLabel, performanceLabel, buttonBox);
+        resultsBox.getChildren().addAll(resultsTitle, nameLabel, scoreLabel, percentageLabel, timeLabel, performanceLabel, buttonBox);
 
         Scene resultsScene = new Scene(resultsBox, 600, 400);
         primaryStage.setScene(resultsScene);
     }
 
     private void handleExit() {
-        if (timer != null) {
-            timer.stop();
+        QuizSession current = session;
+        if (current != null) {
+            current.pause();
         }
 
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
@@ -307,10 +287,13 @@ public class QuizApplication extends Application {
 
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            if (dbManager != null) {
-                dbManager.closeConnection();
+            // Let queued scores reach the database before the JVM goes away
+            quizService.shutdown().whenComplete((ignored, error) -> Platform.exit());
+        } else {
+            // Carry on with the same question; the time spent in the dialog doesn't count
+            if (current != null) {
+                current.resume();
             }
-            Platform.exit();
         }
     }
 
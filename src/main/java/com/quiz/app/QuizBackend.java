@@ -0,0 +1,68 @@
+package com.quiz.app;
+
+import java.nio.file.Path;
+
+/**
+ * The question and score repositories chosen by a {@link QuizConfig}:
+ * <ul>
+ *   <li>{@code mysql}: {@link DatabaseManager} on the configured MySQL server</li>
+ *   <li>{@code embedded}: {@link DatabaseManager} on an H2 database file (H2 must be on the
+ *       classpath); the tables are created on first start</li>
+ *   <li>{@code file}: {@link FileQuestionRepository} on a snapshot file, with scores kept in
+ *       memory by {@link InMemoryScoreRepository}</li>
+ * </ul>
+ */
+public final class QuizBackend implements AutoCloseable {
+
+    private final QuestionRepository questions;
+    private final ScoreRepository scores;
+    private final Path snapshotFile;
+
+    public QuizBackend(QuestionRepository questions, ScoreRepository scores, Path snapshotFile) {
+        this.questions = questions;
+        this.scores = scores;
+        this.snapshotFile = snapshotFile;
+    }
+
+    public static QuizBackend open(QuizConfig config) {
+        System.out.println("Using " + config);
+        switch (config.getBackend()) {
+            case EMBEDDED: {
+                DatabaseManager database = new DatabaseManager(config.get(QuizConfig.EMBEDDED_URL),
+                        config.get(QuizConfig.EMBEDDED_USER), config.get(QuizConfig.EMBEDDED_PASSWORD));
+                return new QuizBackend(database, database, config.getSnapshotFile());
+            }
+            case FILE:
+                // The question file already is a snapshot; no second copy is kept
+                return new QuizBackend(new FileQuestionRepository(config.getQuestionFile()),
+                        new InMemoryScoreRepository(), null);
+            default: {
+                DatabaseManager database = new DatabaseManager(config.get(QuizConfig.DB_URL),
+                        config.require(QuizConfig.DB_USER), config.require(QuizConfig.DB_PASSWORD));
+                return new QuizBackend(database, database, config.getSnapshotFile());
+            }
+        }
+    }
+
+    public QuestionRepository getQuestions() {
+        return questions;
+    }
+
+    public ScoreRepository getScores() {
+        return scores;
+    }
+
+    // Where QuizManager caches the catalog, or null for no cache
+    public Path getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    // Writes out anything pending and releases connections
+    @Override
+    public void close() {
+        questions.close();
+        if (scores != questions) {
+            scores.close();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.quiz.app;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-session question clock based on monotonic deadlines.
+ * <p>
+ * One clock drives every question of a session: {@link #startQuestion()} sets a new deadline,
+ * {@link #finishQuestion()} records how long the player took. Nothing here is tied to JavaFX; the
+ * UI just polls {@link #getRemainingMillis()} from a single shared animation. Headless code can
+ * pass its own time source to drive the clock with virtual time.
+ */
+public class QuizClock {
+
+    private final LongSupplier nanoTime;
+    private long limitNanos;
+
+    private boolean running;
+    private boolean paused;
+    private long questionStart;
+    private long deadline;
+    private long pausedAt;
+
+    private long[] latenciesMillis = new long[8];
+    private int latencyCount;
+
+    public QuizClock(long questionLimitMillis) {
+        this(questionLimitMillis, System::nanoTime);
+    }
+
+    public QuizClock(long questionLimitMillis, LongSupplier nanoTime) {
+        this.nanoTime = nanoTime;
+        setQuestionLimitMillis(questionLimitMillis);
+    }
+
+    // Applies from the next question on
+    public synchronized void setQuestionLimitMillis(long questionLimitMillis) {
+        if (questionLimitMillis <= 0) {
+            throw new IllegalArgumentException("Question limit must be positive: " + questionLimitMillis);
+        }
+        this.limitNanos = TimeUnit.MILLISECONDS.toNanos(questionLimitMillis);
+    }
+
+    public synchronized long getQuestionLimitMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(limitNanos);
+    }
+
+    public synchronized void startQuestion() {
+        questionStart = nanoTime.getAsLong();
+        deadline = questionStart + limitNanos;
+        running = true;
+        paused = false;
+    }
+
+    // Stops the current question and records its response latency; returns that latency
+    public synchronized long finishQuestion() {
+        if (!running) {
+            return -1;
+        }
+        long end = paused ? pausedAt : nanoTime.getAsLong();
+        long latency = TimeUnit.NANOSECONDS.toMillis(Math.min(end, deadline) - questionStart);
+        running = false;
+        paused = false;
+
+        if (latencyCount == latenciesMillis.length) {
+            latenciesMillis = Arrays.copyOf(latenciesMillis, latencyCount * 2);
+        }
+        latenciesMillis[latencyCount++] = latency;
+        return latency;
+    }
+
+    public synchronized void pause() {
+        if (running && !paused) {
+            paused = true;
+            pausedAt = nanoTime.getAsLong();
+        }
+    }
+
+    // Time spent paused doesn't count against the player
+    public synchronized void resume() {
+        if (running && paused) {
+            long pausedFor = nanoTime.getAsLong() - pausedAt;
+            questionStart += pausedFor;
+            deadline += pausedFor;
+            paused = false;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return running;
+    }
+
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+
+    public synchronized long getRemainingMillis() {
+        if (!running) {
+            return 0;
+        }
+        long now = paused ? pausedAt : nanoTime.getAsLong();
+        return Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - now));
+    }
+
+    // Whole seconds left, rounded up so the display reaches 0 exactly at the deadline
+    public synchronized int getRemainingSeconds() {
+        return (int) ((getRemainingMillis() + 999) / 1000);
+    }
+
+    public synchronized boolean isExpired() {
+        return running && !paused && nanoTime.getAsLong() - deadline >= 0;
+    }
+
+    public synchronized long[] getResponseLatenciesMillis() {
+        return Arrays.copyOf(latenciesMillis, latencyCount);
+    }
+
+    public synchronized double getAverageResponseMillis() {
+        if (latencyCount == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < latencyCount; i++) {
+            total += latenciesMillis[i];
+        }
+        return (double) total / latencyCount;
+    }
+
+    // Clears recorded latencies for a new session
+    public synchronized void reset() {
+        running = false;
+        paused = false;
+        latencyCount = 0;
+    }
+}
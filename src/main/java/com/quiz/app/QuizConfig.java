@@ -0,0 +1,159 @@
+package com.quiz.app;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Backend and connection settings.
+ * <p>
+ * Built-in defaults are overridden by a properties file, and both by {@code quiz.*} system
+ * properties ({@code -Dquiz.backend=embedded}). The file is the one named by
+ * {@code -Dquiz.config}, else {@code quiz.properties} in the working directory, else
+ * {@code ~/.bangladesh-quiz/quiz.properties}, if present.
+ */
+public final class QuizConfig {
+
+    public enum Backend { MYSQL, EMBEDDED, FILE }
+
+    public static final String CONFIG_FILE_PROPERTY = "quiz.config";
+    public static final Path USER_CONFIG_FILE =
+            Paths.get(System.getProperty("user.home"), ".bangladesh-quiz", "quiz.properties");
+    // The mysql backend keeps QuizManager's default snapshot file; embedded gets its own
+    public static final Path EMBEDDED_SNAPSHOT_FILE =
+            Paths.get(System.getProperty("user.home"), ".bangladesh-quiz", "questions-embedded.snapshot");
+
+    public static final String BACKEND = "quiz.backend";
+    public static final String DB_URL = "quiz.db.url";
+    public static final String DB_USER = "quiz.db.user";
+    public static final String DB_PASSWORD = "quiz.db.password";
+    public static final String EMBEDDED_URL = "quiz.embedded.url";
+    public static final String EMBEDDED_USER = "quiz.embedded.user";
+    public static final String EMBEDDED_PASSWORD = "quiz.embedded.password";
+    public static final String QUESTION_FILE = "quiz.file.path";
+    // Local cache of the catalog for fast starts; "none" turns it off
+    public static final String SNAPSHOT_FILE = "quiz.snapshot.file";
+    // Seconds between background question refreshes; 0 (the default) turns them off
+    public static final String REFRESH_INTERVAL_SECONDS = "quiz.refresh.interval.seconds";
+
+    private final Properties properties;
+
+    private QuizConfig(Properties properties) {
+        this.properties = properties;
+    }
+
+    private static Properties defaults() {
+        Properties defaults = new Properties();
+        defaults.setProperty(BACKEND, "mysql");
+        defaults.setProperty(DB_URL, "jdbc:mysql://localhost:3306/mysql_rahat");
+        defaults.setProperty(EMBEDDED_URL, "jdbc:h2:~/.bangladesh-quiz/quizdb;MODE=MySQL;DATABASE_TO_LOWER=TRUE");
+        defaults.setProperty(EMBEDDED_USER, "sa");
+        defaults.setProperty(EMBEDDED_PASSWORD, "");
+        defaults.setProperty(QUESTION_FILE, QuizManager.DEFAULT_SNAPSHOT_FILE.toString());
+        defaults.setProperty(REFRESH_INTERVAL_SECONDS, "0");
+        return defaults;
+    }
+
+    // Defaults, then the config file, then quiz.* system properties
+    public static QuizConfig load() {
+        Properties properties = new Properties(defaults());
+        Path file = configFile();
+        if (file != null) {
+            try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+                System.out.println("Loaded settings from " + file);
+            } catch (IOException e) {
+                System.err.println("Ignoring config file " + file + ": " + e.getMessage());
+            }
+        }
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (name.startsWith("quiz.")) {
+                properties.setProperty(name, System.getProperty(name));
+            }
+        }
+        return new QuizConfig(properties);
+    }
+
+    // Defaults plus the given settings only, e.g. for benchmarks
+    public static QuizConfig of(Properties overrides) {
+        Properties properties = new Properties(defaults());
+        properties.putAll(overrides);
+        return new QuizConfig(properties);
+    }
+
+    private static Path configFile() {
+        String named = System.getProperty(CONFIG_FILE_PROPERTY);
+        if (named != null) {
+            return Paths.get(named);
+        }
+        Path local = Paths.get("quiz.properties");
+        if (Files.isRegularFile(local)) {
+            return local;
+        }
+        return Files.isRegularFile(USER_CONFIG_FILE) ? USER_CONFIG_FILE : null;
+    }
+
+    public String get(String key) {
+        return properties.getProperty(key);
+    }
+
+    // A setting without a built-in default, such as the MySQL credentials
+    public String require(String key) {
+        String value = get(key);
+        if (value == null) {
+            throw new IllegalArgumentException(key + " is not set; add it to quiz.properties or pass -D" + key + "=...");
+        }
+        return value;
+    }
+
+    public Backend getBackend() {
+        String value = get(BACKEND).trim();
+        try {
+            return Backend.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + BACKEND + " '" + value + "', expected mysql, embedded or file");
+        }
+    }
+
+    public Path getQuestionFile() {
+        return Paths.get(get(QUESTION_FILE));
+    }
+
+    // Null when snapshots are turned off. Unless set, each database backend has its own file, so
+    // switching backends never serves one database's catalog as the other's offline cache.
+    public Path getSnapshotFile() {
+        String value = get(SNAPSHOT_FILE);
+        if (value == null) {
+            return getBackend() == Backend.EMBEDDED ? EMBEDDED_SNAPSHOT_FILE : QuizManager.DEFAULT_SNAPSHOT_FILE;
+        }
+        value = value.trim();
+        return value.isEmpty() || value.equalsIgnoreCase("none") ? null : Paths.get(value);
+    }
+
+    public long getRefreshIntervalMillis() {
+        String value = get(REFRESH_INTERVAL_SECONDS).trim();
+        try {
+            return Long.parseLong(value) * 1000;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + REFRESH_INTERVAL_SECONDS + " '" + value + "', expected seconds");
+        }
+    }
+
+    @Override
+    public String toString() {
+        Backend backend = getBackend();
+        switch (backend) {
+            case EMBEDDED:
+                return "QuizConfig{backend=embedded, url=" + get(EMBEDDED_URL) + "}";
+            case FILE:
+                return "QuizConfig{backend=file, path=" + get(QUESTION_FILE) + "}";
+            default:
+                return "QuizConfig{backend=mysql, url=" + get(DB_URL) + ", user=" + get(DB_USER) + "}";
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.quiz.app;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop load generator for {@link QuizServer}.
+ * <p>
+ * Each worker plays complete quizzes back to back (start, answer every question, finish) for the
+ * given duration, then throughput and latency percentiles over all requests are printed.
+ * <pre>
+ * java -cp bangladesh-quiz-1.0.0.jar com.quiz.app.QuizLoadGenerator [baseUrl] [workers] [seconds]
+ * </pre>
+ */
+public class QuizLoadGenerator {
+
+    private static final Pattern SESSION_ID = Pattern.compile("\"sessionId\":\"([^\"]+)\"");
+    private static final Pattern STATE = Pattern.compile("\"state\":\"([A-Z_]+)\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    public QuizLoadGenerator(String baseUrl) {
+        this.baseUrl = baseUrl;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8080";
+        int workers = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+
+        new QuizLoadGenerator(baseUrl).run(workers, seconds);
+    }
+
+    public void run(int workers, int seconds) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        long[][] latencies = new long[workers][];
+        AtomicLong errors = new AtomicLong();
+        AtomicLong quizzes = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(workers);
+
+        System.out.println("Running " + workers + " workers against " + baseUrl + " for " + seconds + "s");
+        long start = System.nanoTime();
+        for (int w = 0; w < workers; w++) {
+            int worker = w;
+            Thread thread = new Thread(() -> {
+                LatencyLog log = new LatencyLog();
+                try {
+                    while (System.nanoTime() < deadline) {
+                        if (playQuiz("load-" + worker, log)) {
+                            quizzes.incrementAndGet();
+                        } else {
+                            errors.incrementAndGet();
+                        }
+                    }
+                } finally {
+                    latencies[worker] = log.toArray();
+                    done.countDown();
+                }
+            }, "load-" + w);
+            thread.setDaemon(true);
+            thread.start();
+        }
+        done.await();
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("Requests: %d in %.1fs (%.0f req/s), quizzes completed: %d, failed quizzes: %d%n",
+                all.length, elapsedSeconds, all.length / elapsedSeconds, quizzes.get(), errors.get());
+        if (all.length > 0) {
+            System.out.printf("Latency ms: p50 %.2f, p90 %.2f, p99 %.2f, p99.9 %.2f, max %.2f%n",
+                    percentile(all, 50), percentile(all, 90), percentile(all, 99), percentile(all, 99.9),
+                    all[all.length - 1] / 1e6);
+        }
+    }
+
+    // Plays one full quiz, always choosing the first option; returns false on any error
+    private boolean playQuiz(String player, LatencyLog log) {
+        try {
+            String body = post("/api/quiz/start", "player=" + encode(player), log);
+            if (body == null) {
+                return false;
+            }
+            String sessionId = find(SESSION_ID, body);
+
+            while ("IN_PROGRESS".equals(find(STATE, body))) {
+                body = post("/api/quiz/" + sessionId + "/answer", "option=A", log);
+                if (body == null) {
+                    return false;
+                }
+            }
+            return post("/api/quiz/" + sessionId + "/finish", "", log) != null;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private String post(String path, String form, LatencyLog log) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build();
+        long start = System.nanoTime();
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        log.add(System.nanoTime() - start);
+        return response.statusCode() < 300 ? response.body() : null;
+    }
+
+    private static String find(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))] / 1e6;
+    }
+
+    // Growable primitive buffer so recording a latency doesn't box
+    private static final class LatencyLog {
+        private long[] values = new long[1024];
+        private int size;
+
+        void add(long value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -1,79 +1,455 @@
 package com.quiz.app;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 public class QuizManager {
-    private com.quiz.app.DatabaseManager dbManager;
-    private List<com.quiz.app.Question> allQuestions;
+    public static final long DEFAULT_QUESTION_TIME_LIMIT_MILLIS = 30_000;
+    // Below this the fork/join overhead outweighs the single-threaded pass
+    private static final int PARALLEL_STATISTICS_THRESHOLD = 100_000;
+    // Age after which the difficulty grouping is rebuilt from telemetry in the background
+    private static final long DIFFICULTY_GROUPS_TTL_MILLIS = 60_000;
+    // Local copy of the catalog used for fast startup and when the database is down
+    public static final Path DEFAULT_SNAPSHOT_FILE =
+            Paths.get(System.getProperty("user.home"), ".bangladesh-quiz", "questions.snapshot");
+
+    private final QuestionRepository questionRepository;
+    private final ScoreRepository scoreRepository;
+    private final Path snapshotFile;
+    // Current catalog snapshot; replaced wholesale on refresh, never mutated
+    private final AtomicReference<QuestionCatalog> catalog = new AtomicReference<>(QuestionCatalog.empty());
+    private final Object refreshLock = new Object();
+    // Live quiz sessions by id
+    private final Map<String, QuizSession> sessions = new ConcurrentHashMap<>();
+    private final QuestionTelemetry telemetry;
+    // Catalog positions grouped by observed difficulty. Rebuilt on the caller's thread only when
+    // the catalog's questions changed; a grouping that is merely old is rebuilt in the background.
+    private volatile DifficultyGroups difficultyGroups;
+    private final Object difficultyGroupsLock = new Object();
+    private final AtomicBoolean regroupingDifficulty = new AtomicBoolean();
+    private final ExecutorService difficultyRegrouper = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "difficulty-regroup");
+        t.setDaemon(true);
+        return t;
+    });
+    // How long the last full catalog load took (snapshot or database), for the metrics gauge
+    private volatile long catalogLoadMillis = -1;
+    // Runs refreshQuestions periodically once startAutoRefresh is called
+    private ScheduledExecutorService refreshScheduler;
 
     public QuizManager(com.quiz.app.DatabaseManager dbManager) {
-        this.dbManager = dbManager;
-        loadQuestions();
+        this(dbManager, DEFAULT_SNAPSHOT_FILE);
     }
 
-    private void loadQuestions() {
-        if (dbManager.isConnected()) {
-            allQuestions = dbManager.getAllQuestions();
-            System.out.println("Loaded " + allQuestions.size() + " questions from database");
+    // snapshotFile may be null to always load from the database
+    public QuizManager(com.quiz.app.DatabaseManager dbManager, Path snapshotFile) {
+        this(dbManager, dbManager, snapshotFile);
+    }
+
+    public QuizManager(QuizBackend backend) {
+        this(backend.getQuestions(), backend.getScores(), backend.getSnapshotFile());
+    }
+
+    public QuizManager(QuestionRepository questionRepository, ScoreRepository scoreRepository, Path snapshotFile) {
+        this.questionRepository = questionRepository;
+        this.scoreRepository = scoreRepository;
+        this.snapshotFile = snapshotFile;
+        this.telemetry = questionRepository.getQuestionTelemetry();
+        QuizMetrics.registerGauge("catalog_questions", "Questions in the loaded catalog", () -> catalog.get().size());
+        QuizMetrics.registerGauge("catalog_load_millis", "Duration of the last full catalog load",
+                () -> catalogLoadMillis);
+        QuizMetrics.registerGauge("active_sessions", "Quiz sessions in progress", sessions::size);
+        if (loadSnapshot()) {
+            revalidateInBackground();
         } else {
-            System.err.println("Database not connected, cannot load questions");
-            allQuestions = new ArrayList<>();
+            loadQuestions();
+        }
+    }
+
+    // Serves the last saved catalog right away; returns false if there is no usable snapshot
+    private boolean loadSnapshot() {
+        if (snapshotFile == null || !Files.exists(snapshotFile)) {
+            return false;
+        }
+        try {
+            long start = System.nanoTime();
+            QuestionSnapshotFile.Contents contents = QuestionSnapshotFile.read(snapshotFile);
+            catalog.set(QuestionCatalog.of(contents.questions, computeStatistics(contents.questions),
+                    contents.syncMark, contents.schemaFingerprint));
+            catalogLoadMillis = (System.nanoTime() - start) / 1_000_000;
+            System.out.printf("Loaded %d questions from local snapshot in %d ms (saved %s)%n",
+                    contents.questions.size(), catalogLoadMillis, new Timestamp(contents.writtenAt));
+            return true;
+        } catch (IOException e) {
+            System.err.println("Ignoring question snapshot " + snapshotFile + ": " + e.getMessage());
+            return false;
         }
     }
 
+    // Brings a snapshot-loaded catalog up to date without holding up startup
+    private void revalidateInBackground() {
+        if (!questionRepository.isAvailable()) {
+            System.err.println("Question source not available, running from the local question snapshot");
+            return;
+        }
+        Thread thread = new Thread(this::refreshQuestions, "catalog-revalidate");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void saveSnapshot(QuestionCatalog saved) {
+        if (snapshotFile == null) {
+            return;
+        }
+        try {
+            QuestionSnapshotFile.write(snapshotFile, saved);
+        } catch (IOException e) {
+            System.err.println("Error saving question snapshot " + snapshotFile + ": " + e.getMessage());
+        }
+    }
+
+    private void loadQuestions() {
+        // Readers keep using the old snapshot while the new one is built
+        synchronized (refreshLock) {
+            if (questionRepository.isAvailable()) {
+                long start = System.nanoTime();
+                // Take the mark before reading so changes made during the load are picked up next time
+                Timestamp syncMark = questionRepository.isChangeTrackingEnabled()
+                        ? questionRepository.getSyncMark() : null;
+                String schemaFingerprint = questionRepository.getQuestionsSchemaFingerprint();
+                List<com.quiz.app.Question> loaded = new ArrayList<>(Math.max(16, catalog.get().size()));
+                if (!questionRepository.forEachQuestion(loaded::add)) {
+                    System.err.println("Question load failed, keeping the current catalog");
+                    return;
+                }
+                QuestionCatalog loadedCatalog = QuestionCatalog.of(loaded, computeStatistics(loaded), syncMark, schemaFingerprint);
+                catalog.set(loadedCatalog);
+                catalogLoadMillis = (System.nanoTime() - start) / 1_000_000;
+                System.out.println("Loaded " + loaded.size() + " questions in " + catalogLoadMillis + " ms");
+                saveSnapshot(loadedCatalog);
+            } else {
+                // Whatever is loaded (e.g. from the snapshot) stays in use
+                System.err.println("Question source not available, cannot load questions");
+            }
+        }
+    }
+
+    // Current snapshot of the question catalog
+    public QuestionCatalog getCatalog() {
+        return catalog.get();
+    }
+
     public List<com.quiz.app.Question> getRandomQuestions(int count) {
-        if (allQuestions.isEmpty()) {
+        List<com.quiz.app.Question> questions = catalog.get().getQuestions();
+        if (questions.isEmpty()) {
+            System.err.println("No questions available");
+            return new ArrayList<>();
+        }
+
+        // Sample only the indexes we need instead of copying and shuffling the whole catalog.
+        // If we have fewer questions than requested, all available are returned.
+        int[] indexes = RandomSampler.sampleIndexes(questions.size(), count);
+        com.quiz.app.Question[] picked = new com.quiz.app.Question[indexes.length];
+        for (int i = 0; i < indexes.length; i++) {
+            picked[i] = questions.get(indexes[i]);
+        }
+        return List.of(picked);
+    }
+
+    // Random questions spread evenly over easy, medium and hard (by observed difficulty), ordered
+    // easy to hard. Falls back to whatever is available when a level runs short. No database access.
+    public List<com.quiz.app.Question> getBalancedRandomQuestions(int count) {
+        DifficultyGroups groups = currentDifficultyGroups();
+        List<com.quiz.app.Question> questions = groups.catalog.getQuestions();
+        if (questions.isEmpty()) {
             System.err.println("No questions available");
             return new ArrayList<>();
         }
 
-        // If we have fewer questions than requested, return all available
-        if (allQuestions.size() <= count) {
-            List<com.quiz.app.Question> shuffled = new ArrayList<>(allQuestions);
-            Collections.shuffle(shuffled);
-            return shuffled;
+        // Hand out one slot per level in turn, skipping levels that are used up
+        int[] quotas = new int[groups.positions.length];
+        int remaining = Math.min(count, questions.size());
+        while (remaining > 0) {
+            for (int level = 0; level < quotas.length && remaining > 0; level++) {
+                if (quotas[level] < groups.positions[level].length) {
+                    quotas[level]++;
+                    remaining--;
+                }
+            }
+        }
+
+        List<com.quiz.app.Question> picked = new ArrayList<>(Math.min(count, questions.size()));
+        for (int level = 0; level < quotas.length; level++) {
+            int[] positions = groups.positions[level];
+            for (int index : RandomSampler.sampleIndexes(positions.length, quotas[level])) {
+                picked.add(questions.get(positions[index]));
+            }
+        }
+        return List.copyOf(picked);
+    }
+
+    private DifficultyGroups currentDifficultyGroups() {
+        QuestionCatalog current = catalog.get();
+        DifficultyGroups groups = difficultyGroups;
+        // Keyed on the question list, which a delta sync that changed nothing keeps
+        if (groups != null && groups.catalog.getQuestions() == current.getQuestions()) {
+            if (System.currentTimeMillis() - groups.builtAt >= DIFFICULTY_GROUPS_TTL_MILLIS) {
+                regroupDifficultyInBackground();
+            }
+            return groups;
+        }
+        // Positions index into the question list, so a changed catalog can't use the old grouping
+        synchronized (difficultyGroupsLock) {
+            groups = difficultyGroups;
+            if (groups == null || groups.catalog.getQuestions() != current.getQuestions()) {
+                groups = new DifficultyGroups(current, telemetry);
+                difficultyGroups = groups;
+            }
+            return groups;
+        }
+    }
+
+    private void regroupDifficultyInBackground() {
+        if (!regroupingDifficulty.compareAndSet(false, true)) {
+            return;
         }
+        difficultyRegrouper.execute(() -> {
+            try {
+                synchronized (difficultyGroupsLock) {
+                    difficultyGroups = new DifficultyGroups(catalog.get(), telemetry);
+                }
+            } finally {
+                regroupingDifficulty.set(false);
+            }
+        });
+    }
 
-        // Create a copy and shuffle to get random questions
-        List<com.quiz.app.Question> shuffled = new ArrayList<>(allQuestions);
-        Collections.shuffle(shuffled);
+    private static class DifficultyGroups {
+        final QuestionCatalog catalog;
+        final int[][] positions = new int[Difficulty.values().length][];
+        final long builtAt = System.currentTimeMillis();
 
-        // Return the first 'count' questions
-        return shuffled.subList(0, count);
+        DifficultyGroups(QuestionCatalog catalog, QuestionTelemetry telemetry) {
+            this.catalog = catalog;
+            List<com.quiz.app.Question> questions = catalog.getQuestions();
+            int[] levels = new int[questions.size()];
+            int[] sizes = new int[positions.length];
+            for (int i = 0; i < levels.length; i++) {
+                levels[i] = telemetry.getDifficulty(questions.get(i)).ordinal();
+                sizes[levels[i]]++;
+            }
+            for (int level = 0; level < positions.length; level++) {
+                positions[level] = new int[sizes[level]];
+                sizes[level] = 0;
+            }
+            for (int i = 0; i < levels.length; i++) {
+                positions[levels[i]][sizes[levels[i]]++] = i;
+            }
+        }
     }
 
     public <Question> List<Question> getAllQuestions() {
-        return (List<Question>) new ArrayList<>(allQuestions);
+        return (List<Question>) new ArrayList<>(catalog.get().getQuestions());
     }
 
     public com.quiz.app.Question getQuestionById(int id) {
-        return allQuestions.stream()
-                .filter(q -> q.getId() == id)
-                .findFirst()
-                .orElse(null);
+        return catalog.get().getIndex().get(id);
     }
 
     public boolean saveScore(String playerName, int score) {
-        return dbManager.saveScore(playerName, score, 5); // 5 is the total questions per quiz
+        return scoreRepository.saveScore(playerName, score, 5); // 5 is the total questions per quiz
+    }
+
+    public boolean saveScore(String playerName, int score, int totalQuestions) {
+        return scoreRepository.saveScore(playerName, score, totalQuestions);
+    }
+
+    // Starts and registers a new quiz session, or returns null if no questions are available
+    public QuizSession startSession(String playerName, int questionCount) {
+        return startSession(playerName, questionCount, DEFAULT_QUESTION_TIME_LIMIT_MILLIS);
+    }
+
+    public QuizSession startSession(String playerName, int questionCount, long questionTimeLimitMillis) {
+        List<com.quiz.app.Question> questions = getBalancedRandomQuestions(questionCount);
+        if (questions.isEmpty()) {
+            return null;
+        }
+        QuizSession session = new QuizSession(UUID.randomUUID().toString(), playerName, questions,
+                new QuizClock(questionTimeLimitMillis), telemetry);
+        sessions.put(session.getId(), session);
+        QuizMetrics.SESSIONS_STARTED.increment();
+        return session;
+    }
+
+    public QuizSession getSession(String sessionId) {
+        return sessionId != null ? sessions.get(sessionId) : null;
+    }
+
+    // Finishes the session, saves its score and removes it from the registry
+    public boolean finishSession(String sessionId) {
+        QuizSession session = sessions.remove(sessionId);
+        if (session == null) {
+            return false;
+        }
+        session.finish();
+        QuizMetrics.SESSIONS_FINISHED.increment();
+        return saveScore(session.getPlayerName(), session.getScore(), session.getTotalQuestions());
+    }
+
+    // Drops sessions nobody has touched for the given time without saving them; returns how many
+    public int evictIdleSessions(long maxIdleMillis) {
+        long cutoff = System.currentTimeMillis() - maxIdleMillis;
+        int evicted = 0;
+        for (QuizSession session : sessions.values()) {
+            if (session.getLastActivity() < cutoff && sessions.remove(session.getId(), session)) {
+                session.finish();
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int getActiveSessionCount() {
+        return sessions.size();
     }
 
     public List<com.quiz.app.DatabaseManager.ScoreRecord> getTopScores(int limit) {
-        return dbManager.getTopScores(limit);
+        return scoreRepository.getTopScores(limit);
+    }
+
+    public PlayerStatsStore.PlayerStats getPlayerStats(String playerName) {
+        return scoreRepository.getPlayerStats(playerName);
+    }
+
+    // 1-based rank of the player's best percentage, or -1 if they have no saved score
+    public int getRankOf(String playerName) {
+        return scoreRepository.getRankOf(playerName);
     }
 
     public int getTotalQuestionsCount() {
-        return allQuestions.size();
+        return catalog.get().size();
     }
 
     public boolean isQuizAvailable() {
-        return !allQuestions.isEmpty();
+        return !catalog.get().isEmpty();
     }
 
-    // Method to refresh questions from database
+    // Method to refresh questions from database: fetches only changed rows when possible
     public void refreshQuestions() {
-        loadQuestions();
+        synchronized (refreshLock) {
+            QuestionCatalog current = catalog.get();
+            boolean deltaPossible = questionRepository.isAvailable()
+                    && questionRepository.isChangeTrackingEnabled()
+                    && current.getSyncMark() != null
+                    && Objects.equals(current.getSchemaFingerprint(), questionRepository.getQuestionsSchemaFingerprint());
+
+            if (!deltaPossible || !applyQuestionChanges(current)) {
+                loadQuestions();
+            }
+        }
+    }
+
+    // Refreshes the catalog every intervalMillis on a daemon thread, so edits to the questions
+    // reach a running app. With change tracking each run only fetches the rows changed since the
+    // last one. An interval of 0 or less turns it off.
+    public synchronized void startAutoRefresh(long intervalMillis) {
+        stopAutoRefresh();
+        if (intervalMillis <= 0) {
+            return;
+        }
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "catalog-refresh");
+            t.setDaemon(true);
+            return t;
+        });
+        refreshScheduler.scheduleWithFixedDelay(() -> {
+            try {
+                refreshQuestions();
+            } catch (RuntimeException e) {
+                // An exception would cancel the schedule; the next run tries again
+                System.err.println("Scheduled question refresh failed: " + e.getMessage());
+            }
+        }, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        System.out.println("Refreshing questions every " + intervalMillis / 1000 + " s");
+        if (!questionRepository.isChangeTrackingEnabled()) {
+            System.err.println("Question change tracking is not available, so every scheduled refresh "
+                    + "reloads the whole catalog");
+        }
+    }
+
+    public synchronized void stopAutoRefresh() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+            refreshScheduler = null;
+        }
+    }
+
+    // Merges rows changed or deleted since the catalog's sync mark into a new snapshot
+    private boolean applyQuestionChanges(QuestionCatalog current) {
+        long start = QuizMetrics.startTimer();
+        Timestamp newSyncMark = questionRepository.getSyncMark();
+        List<com.quiz.app.Question> changed = questionRepository.getQuestionsChangedSince(current.getSyncMark());
+        int[] deleted = questionRepository.getDeletedQuestionIdsSince(current.getSyncMark());
+        QuizMetrics.DB_SYNC_QUESTIONS.recordSince(start);
+        if (newSyncMark == null || changed == null || deleted == null) {
+            return false;
+        }
+
+        if (changed.isEmpty() && deleted.length == 0) {
+            catalog.set(current.withSyncMark(newSyncMark));
+            return true;
+        }
+
+        // Deletions first: a row that is in the changed set exists now, even if it was deleted before
+        Set<Integer> removed = new HashSet<>();
+        for (int id : deleted) {
+            removed.add(id);
+        }
+        Map<Integer, com.quiz.app.Question> upserts = new LinkedHashMap<>();
+        for (com.quiz.app.Question question : changed) {
+            upserts.put(question.getId(), question);
+            removed.remove(question.getId());
+        }
+
+        List<com.quiz.app.Question> merged = new ArrayList<>(current.size() + upserts.size());
+        for (com.quiz.app.Question question : current.getQuestions()) {
+            if (removed.contains(question.getId())) {
+                continue;
+            }
+            com.quiz.app.Question replacement = upserts.remove(question.getId());
+            merged.add(replacement != null ? replacement : question);
+        }
+        merged.addAll(upserts.values());
+
+        QuestionCatalog mergedCatalog =
+                QuestionCatalog.of(merged, computeStatistics(merged), newSyncMark, current.getSchemaFingerprint());
+        catalog.set(mergedCatalog);
+        questionRepository.invalidateQuestionIdCache();
+        System.out.println("Synced question changes: " + changed.size() + " changed, " + deleted.length
+                + " deleted, " + merged.size() + " total");
+        saveSnapshot(mergedCatalog);
+        return true;
     }
 
     // Method to validate answer
@@ -81,29 +457,136 @@ public class QuizManager {
         if (question == null || selectedAnswer == null) {
             return false;
         }
-        return question.getCorrect().trim().equalsIgnoreCase(selectedAnswer.trim());
+        if (question.getCorrectOption() != com.quiz.app.Question.NO_OPTION) {
+            return question.isCorrectOption(question.optionIndexOf(selectedAnswer));
+        }
+        // Answer key that names none of the options: fall back to comparing the text
+        return question.getCorrect() != null && question.getCorrect().trim().equalsIgnoreCase(selectedAnswer.trim());
+    }
+
+    // Validates an answer given as an option index (Question.OPTION_A..OPTION_D)
+    public boolean isAnswerCorrect(com.quiz.app.Question question, int selectedOption) {
+        return question != null && question.isCorrectOption(selectedOption);
+    }
+
+    // Grades a whole answer sheet against one catalog snapshot. selectedOptions[i] is the option
+    // chosen for questionIds[i] (Question.NO_OPTION for none); unknown ids count as wrong.
+    public AnswerSheetResult gradeAnswerSheet(int[] questionIds, int[] selectedOptions) {
+        if (questionIds.length != selectedOptions.length) {
+            throw new IllegalArgumentException("Answer sheet has " + questionIds.length + " questions but "
+                    + selectedOptions.length + " answers");
+        }
+        QuestionIndex index = catalog.get().getIndex();
+        boolean[] correct = new boolean[questionIds.length];
+        int score = 0;
+        int unknown = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            com.quiz.app.Question question = index.get(questionIds[i]);
+            if (question == null) {
+                unknown++;
+            } else if (question.isCorrectOption(selectedOptions[i])) {
+                correct[i] = true;
+                score++;
+            }
+        }
+        return new AnswerSheetResult(score, questionIds.length, unknown, correct);
     }
 
-    // Method to get question difficulty level (based on some criteria)
+    // Method to get question difficulty level: from players' correct rate once a question has
+    // enough answers, otherwise the length-based guess made when the question text was set
     public String getQuestionDifficulty(com.quiz.app.Question question) {
-        // Simple difficulty assessment based on question length
-        if (question.getQuestion().length() < 50) {
-            return "Easy";
-        } else if (question.getQuestion().length() < 100) {
-            return "Medium";
+        return telemetry.getDifficulty(question).getLabel();
+    }
+
+    public QuestionTelemetry.QuestionStats getQuestionStats(int questionId) {
+        return telemetry.getStats(questionId);
+    }
+
+    // Method to get statistics. Totals and categories are computed once per catalog snapshot; the
+    // easy/medium/hard counts use the same observed difficulty as getQuestionDifficulty and
+    // balanced selection, regrouped in the background every DIFFICULTY_GROUPS_TTL_MILLIS.
+    public QuizStatistics getQuizStatistics() {
+        DifficultyGroups groups = currentDifficultyGroups();
+        QuizStatistics catalogStatistics = groups.catalog.getStatistics();
+        return new QuizStatistics(catalogStatistics.getTotalQuestions(),
+                groups.positions[Difficulty.EASY.ordinal()].length,
+                groups.positions[Difficulty.MEDIUM.ordinal()].length,
+                groups.positions[Difficulty.HARD.ordinal()].length,
+                catalogStatistics.getCategoryCounts());
+    }
+
+    // One pass over the catalog; large catalogs are split across cores. Difficulty here is the
+    // length-based guess from the question text, as telemetry isn't part of a catalog snapshot.
+    static QuizStatistics computeStatistics(List<com.quiz.app.Question> questions) {
+        StatisticsAccumulator totals;
+        if (questions.size() >= PARALLEL_STATISTICS_THRESHOLD) {
+            totals = questions.parallelStream()
+                    .collect(StatisticsAccumulator::new, StatisticsAccumulator::add, StatisticsAccumulator::merge);
         } else {
-            return "Hard";
+            totals = new StatisticsAccumulator();
+            for (com.quiz.app.Question question : questions) {
+                totals.add(question);
+            }
         }
+        return totals.toStatistics();
     }
 
-    // Method to get statistics
-    public QuizStatistics getQuizStatistics() {
-        return new QuizStatistics(
-                allQuestions.size(),
-                (int) allQuestions.stream().filter(q -> getQuestionDifficulty(q).equals("Easy")).count(),
-                (int) allQuestions.stream().filter(q -> getQuestionDifficulty(q).equals("Medium")).count(),
-                (int) allQuestions.stream().filter(q -> getQuestionDifficulty(q).equals("Hard")).count()
-        );
+    private static class StatisticsAccumulator {
+        private final int[] byDifficulty = new int[Difficulty.values().length];
+        private final Map<String, int[]> byCategory = new HashMap<>();
+        private int total;
+
+        void add(com.quiz.app.Question question) {
+            total++;
+            byDifficulty[question.getDifficulty().ordinal()]++;
+            byCategory.computeIfAbsent(question.getCategory(), category -> new int[1])[0]++;
+        }
+
+        void merge(StatisticsAccumulator other) {
+            total += other.total;
+            for (int i = 0; i < byDifficulty.length; i++) {
+                byDifficulty[i] += other.byDifficulty[i];
+            }
+            other.byCategory.forEach((category, count) ->
+                    byCategory.computeIfAbsent(category, c -> new int[1])[0] += count[0]);
+        }
+
+        QuizStatistics toStatistics() {
+            Map<String, Integer> categoryCounts = new TreeMap<>();
+            byCategory.forEach((category, count) -> categoryCounts.put(category, count[0]));
+            return new QuizStatistics(total, byDifficulty[Difficulty.EASY.ordinal()],
+                    byDifficulty[Difficulty.MEDIUM.ordinal()], byDifficulty[Difficulty.HARD.ordinal()], categoryCounts);
+        }
+    }
+
+    // Inner class for a graded answer sheet
+    public static class AnswerSheetResult {
+        private final int score;
+        private final int totalQuestions;
+        private final int unknownQuestions;
+        private final boolean[] correct;
+
+        public AnswerSheetResult(int score, int totalQuestions, int unknownQuestions, boolean[] correct) {
+            this.score = score;
+            this.totalQuestions = totalQuestions;
+            this.unknownQuestions = unknownQuestions;
+            this.correct = correct;
+        }
+
+        // Getters
+        public int getScore() { return score; }
+        public int getTotalQuestions() { return totalQuestions; }
+        public int getUnknownQuestions() { return unknownQuestions; }
+        public boolean isCorrect(int answerIndex) { return correct[answerIndex]; }
+
+        public double getPercentage() {
+            return totalQuestions > 0 ? (double) score / totalQuestions * 100 : 0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("AnswerSheetResult{score=%d/%d, unknown=%d}", score, totalQuestions, unknownQuestions);
+        }
     }
 
     // Inner class for quiz statistics
@@ -112,12 +595,19 @@ public class QuizManager {
         private int easyQuestions;
         private int mediumQuestions;
         private int hardQuestions;
+        private Map<String, Integer> categoryCounts;
 
         public QuizStatistics(int totalQuestions, int easyQuestions, int mediumQuestions, int hardQuestions) {
+            this(totalQuestions, easyQuestions, mediumQuestions, hardQuestions, Collections.emptyMap());
+        }
+
+        public QuizStatistics(int totalQuestions, int easyQuestions, int mediumQuestions, int hardQuestions,
+                              Map<String, Integer> categoryCounts) {
             this.totalQuestions = totalQuestions;
             this.easyQuestions = easyQuestions;
             this.mediumQuestions = mediumQuestions;
             this.hardQuestions = hardQuestions;
+            this.categoryCounts = Collections.unmodifiableMap(categoryCounts);
         }
 
         // Getters
@@ -125,11 +615,13 @@ public class QuizManager {
         public int getEasyQuestions() { return easyQuestions; }
         public int getMediumQuestions() { return mediumQuestions; }
         public int getHardQuestions() { return hardQuestions; }
+        public Map<String, Integer> getCategoryCounts() { return categoryCounts; }
+        public int getCategoryCount(String category) { return categoryCounts.getOrDefault(category, 0); }
 
         @Override
         public String toString() {
-            return String.format("Total: %d, Easy: %d, Medium: %d, Hard: %d",
-                    totalQuestions, easyQuestions, mediumQuestions, hardQuestions);
+            return String.format("Total: %d, Easy: %d, Medium: %d, Hard: %d, Categories: %s",
+                    totalQuestions, easyQuestions, mediumQuestions, hardQuestions, categoryCounts);
         }
     }
 }
\ No newline at end of file
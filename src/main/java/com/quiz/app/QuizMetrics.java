@@ -0,0 +1,240 @@
+package com.quiz.app;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Process-wide counters, gauges and database latency histograms.
+ * <p>
+ * Instrumented code calls {@link #startTimer()} and {@link LatencyHistogram#recordSince(long)}
+ * around an operation and {@link Counter#increment()} for events. When metrics are disabled
+ * ({@code -Dquiz.metrics=false}, or through JMX) each of these is a single volatile read: no clock
+ * call and no allocation. The data is available through JMX and as Prometheus text
+ * ({@link #dumpPrometheus()}, served by the quiz server at {@code /metrics}).
+ */
+public final class QuizMetrics {
+
+    private static volatile boolean enabled = !"false".equalsIgnoreCase(System.getProperty("quiz.metrics"));
+
+    // Database round trips only; work served from memory (queued score saves, the cached
+    // leaderboard, the file backend) is not timed here
+    public static final LatencyHistogram DB_CONNECT = new LatencyHistogram("connect");
+    public static final LatencyHistogram DB_GET_ALL_QUESTIONS = new LatencyHistogram("get_all_questions");
+    public static final LatencyHistogram DB_GET_RANDOM_QUESTIONS = new LatencyHistogram("get_random_questions");
+    public static final LatencyHistogram DB_WRITE_SCORE_BATCH = new LatencyHistogram("write_score_batch");
+    public static final LatencyHistogram DB_GET_TOP_SCORES = new LatencyHistogram("get_top_scores");
+    public static final LatencyHistogram DB_SYNC_QUESTIONS = new LatencyHistogram("sync_questions");
+    private static final List<LatencyHistogram> DB_LATENCIES = List.of(DB_CONNECT, DB_GET_ALL_QUESTIONS,
+            DB_GET_RANDOM_QUESTIONS, DB_WRITE_SCORE_BATCH, DB_GET_TOP_SCORES, DB_SYNC_QUESTIONS);
+
+    // Quiz events
+    public static final Counter SESSIONS_STARTED = new Counter("sessions_started", "Quiz sessions started");
+    public static final Counter SESSIONS_FINISHED = new Counter("sessions_finished", "Quiz sessions finished and saved");
+    public static final Counter ANSWERS = new Counter("answers", "Answers graded");
+    public static final Counter CORRECT_ANSWERS = new Counter("correct_answers", "Answers graded as correct");
+    public static final Counter TIMEOUTS = new Counter("timeouts", "Questions that ran out of time");
+    public static final Counter DB_ERRORS = new Counter("db_errors", "Failed database operations");
+    private static final List<Counter> COUNTERS =
+            List.of(SESSIONS_STARTED, SESSIONS_FINISHED, ANSWERS, CORRECT_ANSWERS, TIMEOUTS, DB_ERRORS);
+
+    // Gauges are read when metrics are collected; the latest registration for a name wins
+    private static final Map<String, Gauge> GAUGES = new ConcurrentHashMap<>();
+
+    private QuizMetrics() {}
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean on) {
+        enabled = on;
+    }
+
+    // Start time for LatencyHistogram.recordSince, or 0 when metrics are off
+    public static long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public static void registerGauge(String name, String help, LongSupplier supplier) {
+        GAUGES.put(name, new Gauge(help, supplier));
+    }
+
+    // Registers the JMX view once; later calls do nothing
+    public static void registerMBean() {
+        try {
+            ManagementFactory.getPlatformMBeanServer()
+                    .registerMBean(new MXBean(), new ObjectName("com.quiz.app:type=QuizMetrics"));
+        } catch (InstanceAlreadyExistsException e) {
+            // Already registered
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    public static void reset() {
+        for (LatencyHistogram histogram : DB_LATENCIES) {
+            histogram.reset();
+        }
+        for (Counter counter : COUNTERS) {
+            counter.adder.reset();
+        }
+    }
+
+    // Prometheus text exposition format (version 0.0.4)
+    public static String dumpPrometheus() {
+        StringBuilder out = new StringBuilder(4096);
+        out.append("# HELP quiz_db_latency_seconds Latency of database operations\n");
+        out.append("# TYPE quiz_db_latency_seconds summary\n");
+        for (LatencyHistogram histogram : DB_LATENCIES) {
+            String label = "operation=\"" + histogram.getName() + "\"";
+            for (double quantile : new double[] {0.5, 0.9, 0.99, 0.999}) {
+                out.append("quiz_db_latency_seconds{").append(label).append(",quantile=\"").append(quantile)
+                        .append("\"} ").append(seconds(histogram.getPercentileNanos(quantile * 100))).append('\n');
+            }
+            out.append("quiz_db_latency_seconds_sum{").append(label).append("} ")
+                    .append(seconds(histogram.getSumNanos())).append('\n');
+            out.append("quiz_db_latency_seconds_count{").append(label).append("} ")
+                    .append(histogram.getCount()).append('\n');
+        }
+        for (Counter counter : COUNTERS) {
+            String metric = "quiz_" + counter.name + "_total";
+            out.append("# HELP ").append(metric).append(' ').append(counter.help).append('\n');
+            out.append("# TYPE ").append(metric).append(" counter\n");
+            out.append(metric).append(' ').append(counter.get()).append('\n');
+        }
+        new TreeMap<>(GAUGES).forEach((name, gauge) -> {
+            String metric = "quiz_" + name;
+            out.append("# HELP ").append(metric).append(' ').append(gauge.help).append('\n');
+            out.append("# TYPE ").append(metric).append(" gauge\n");
+            out.append(metric).append(' ').append(gauge.read()).append('\n');
+        });
+        return out.toString();
+    }
+
+    private static String seconds(long nanos) {
+        return Double.toString(nanos / 1e9);
+    }
+
+    // Monotonic event count
+    public static final class Counter {
+        private final String name;
+        private final String help;
+        private final LongAdder adder = new LongAdder();
+
+        Counter(String name, String help) {
+            this.name = name;
+            this.help = help;
+        }
+
+        public void increment() {
+            if (enabled) {
+                adder.increment();
+            }
+        }
+
+        public long get() {
+            return adder.sum();
+        }
+    }
+
+    private static final class Gauge {
+        final String help;
+        final LongSupplier supplier;
+
+        Gauge(String help, LongSupplier supplier) {
+            this.help = help;
+            this.supplier = supplier;
+        }
+
+        long read() {
+            try {
+                return supplier.getAsLong();
+            } catch (RuntimeException e) {
+                return -1;
+            }
+        }
+    }
+
+    private static final class MXBean implements QuizMetricsMXBean {
+        @Override
+        public boolean isEnabled() {
+            return QuizMetrics.isEnabled();
+        }
+
+        @Override
+        public void setEnabled(boolean on) {
+            QuizMetrics.setEnabled(on);
+        }
+
+        @Override
+        public Map<String, Long> getCounters() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (Counter counter : COUNTERS) {
+                values.put(counter.name, counter.get());
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getGauges() {
+            Map<String, Long> values = new TreeMap<>();
+            GAUGES.forEach((name, gauge) -> values.put(name, gauge.read()));
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getLatencyCounts() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (LatencyHistogram histogram : DB_LATENCIES) {
+                values.put(histogram.getName(), histogram.getCount());
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, Double> getLatencyP50Millis() {
+            return percentilesMillis(50);
+        }
+
+        @Override
+        public Map<String, Double> getLatencyP99Millis() {
+            return percentilesMillis(99);
+        }
+
+        @Override
+        public Map<String, Double> getLatencyMaxMillis() {
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (LatencyHistogram histogram : DB_LATENCIES) {
+                values.put(histogram.getName(), histogram.getMaxNanos() / 1e6);
+            }
+            return values;
+        }
+
+        private Map<String, Double> percentilesMillis(double percentile) {
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (LatencyHistogram histogram : DB_LATENCIES) {
+                values.put(histogram.getName(), histogram.getPercentileNanos(percentile) / 1e6);
+            }
+            return values;
+        }
+
+        @Override
+        public String dumpPrometheus() {
+            return QuizMetrics.dumpPrometheus();
+        }
+
+        @Override
+        public void reset() {
+            QuizMetrics.reset();
+        }
+    }
+}
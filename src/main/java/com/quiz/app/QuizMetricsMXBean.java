@@ -0,0 +1,30 @@
+package com.quiz.app;
+
+import java.util.Map;
+
+/**
+ * JMX view of {@link QuizMetrics}, registered as {@code com.quiz.app:type=QuizMetrics}.
+ */
+public interface QuizMetricsMXBean {
+
+    boolean isEnabled();
+
+    void setEnabled(boolean enabled);
+
+    Map<String, Long> getCounters();
+
+    Map<String, Long> getGauges();
+
+    // Per database operation
+    Map<String, Long> getLatencyCounts();
+
+    Map<String, Double> getLatencyP50Millis();
+
+    Map<String, Double> getLatencyP99Millis();
+
+    Map<String, Double> getLatencyMaxMillis();
+
+    String dumpPrometheus();
+
+    void reset();
+}
@@ -0,0 +1,392 @@
+package com.quiz.app;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Headless HTTP/JSON front end for quiz sessions, using the JDK's built-in HTTP server.
+ * <p>
+ * Endpoints (parameters as query string or form body):
+ * <pre>
+ * POST /api/quiz/start          player, count       -> new session and its first question
+ * POST /api/quiz/{id}/answer    option (0-3 or A-D) -> whether it was correct, next question
+ *                               or answer (text)
+ * POST /api/quiz/{id}/finish                        -> final score (saved to the database)
+ * GET  /api/quiz/{id}                               -> current session state
+ * GET  /api/leaderboard         limit               -> top scores
+ * GET  /api/health                                  -> catalog size and active sessions
+ * GET  /metrics                                      -> metrics in Prometheus text format
+ * </pre>
+ * Each request runs on its own virtual thread when the runtime supports them.
+ */
+public class QuizServer {
+
+    private static final int DEFAULT_PORT = 8080;
+    private static final int DEFAULT_QUESTION_COUNT = 5;
+    private static final int MAX_QUESTION_COUNT = 50;
+    private static final long SESSION_IDLE_TIMEOUT_MILLIS = 10 * 60_000;
+    // Request threads when the runtime has no virtual threads; requests waiting on the database
+    // park on its connection pool, so this only has to cover requests in flight
+    private static final int REQUEST_THREADS = 64;
+
+    static {
+        // Headers and body go out in separate writes; without TCP_NODELAY every response
+        // waits for the client's delayed ACK (about 40 ms on Linux)
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final QuizManager quizManager;
+    private final HttpServer server;
+    private final ExecutorService requestExecutor;
+    private final ScheduledExecutorService sessionReaper;
+
+    public QuizServer(QuizManager quizManager, int port) throws IOException {
+        this.quizManager = quizManager;
+        this.server = HttpServer.create(new InetSocketAddress(port), 1024);
+        this.requestExecutor = newRequestExecutor();
+        this.sessionReaper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "session-reaper");
+            t.setDaemon(true);
+            return t;
+        });
+
+        server.setExecutor(requestExecutor);
+        server.createContext("/api/quiz", this::handleQuiz);
+        server.createContext("/api/leaderboard", this::handleLeaderboard);
+        server.createContext("/api/health", this::handleHealth);
+        server.createContext("/metrics", this::handleMetrics);
+    }
+
+    // Virtual threads when the runtime has them (JDK 21+), otherwise a pool of REQUEST_THREADS
+    // daemon threads that are let go when idle
+    static ExecutorService newRequestExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(REQUEST_THREADS, REQUEST_THREADS,
+                    60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread t = new Thread(r, "quiz-http-" + counter.incrementAndGet());
+                        t.setDaemon(true);
+                        return t;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+    }
+
+    public void start() {
+        server.start();
+        sessionReaper.scheduleAtFixedRate(() -> {
+            int evicted = quizManager.evictIdleSessions(SESSION_IDLE_TIMEOUT_MILLIS);
+            if (evicted > 0) {
+                System.out.println("Evicted " + evicted + " idle quiz session(s)");
+            }
+        }, 1, 1, TimeUnit.MINUTES);
+        System.out.println("Quiz server listening on port " + server.getAddress().getPort());
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public void stop() {
+        server.stop(1);
+        sessionReaper.shutdownNow();
+        requestExecutor.shutdown();
+    }
+
+    private void handleQuiz(HttpExchange exchange) throws IOException {
+        try {
+            String[] path = exchange.getRequestURI().getPath().split("/");
+            // ["", "api", "quiz", "start"] or ["", "api", "quiz", "{id}", "answer"]
+            String method = exchange.getRequestMethod();
+            Map<String, String> params = readParams(exchange);
+
+            if (path.length == 4 && path[3].equals("start") && method.equals("POST")) {
+                startQuiz(exchange, params);
+            } else if (path.length == 4 && method.equals("GET")) {
+                withSession(exchange, path[3], session -> sendJson(exchange, 200, sessionJson(session)));
+            } else if (path.length == 5 && path[4].equals("answer") && method.equals("POST")) {
+                withSession(exchange, path[3], session -> submitAnswer(exchange, session, params));
+            } else if (path.length == 5 && path[4].equals("finish") && method.equals("POST")) {
+                withSession(exchange, path[3], session -> finishQuiz(exchange, session));
+            } else {
+                sendError(exchange, 404, "Not found");
+            }
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void startQuiz(HttpExchange exchange, Map<String, String> params) throws IOException {
+        String player = params.getOrDefault("player", "").trim();
+        if (player.isEmpty()) {
+            sendError(exchange, 400, "player is required");
+            return;
+        }
+        int count;
+        try {
+            count = Integer.parseInt(params.getOrDefault("count", String.valueOf(DEFAULT_QUESTION_COUNT)));
+        } catch (NumberFormatException e) {
+            sendError(exchange, 400, "count must be a number");
+            return;
+        }
+        if (count < 1 || count > MAX_QUESTION_COUNT) {
+            sendError(exchange, 400, "count must be between 1 and " + MAX_QUESTION_COUNT);
+            return;
+        }
+
+        QuizSession session = quizManager.startSession(player, count);
+        if (session == null) {
+            sendError(exchange, 503, "No questions available");
+            return;
+        }
+        sendJson(exchange, 201, sessionJson(session));
+    }
+
+    private void submitAnswer(HttpExchange exchange, QuizSession session, Map<String, String> params) throws IOException {
+        String optionParam = params.get("option");
+        int option = Question.NO_OPTION;
+        if (optionParam != null) {
+            option = parseOption(optionParam);
+            if (option == Question.NO_OPTION) {
+                sendError(exchange, 400, "option must be 0-3 or A-D");
+                return;
+            }
+        }
+
+        boolean correct;
+        synchronized (session) {
+            if (session.isFinished()) {
+                sendError(exchange, 409, "Quiz is already finished");
+                return;
+            }
+            correct = optionParam != null ? session.answer(option) : session.answer(params.get("answer"));
+        }
+        sendJson(exchange, 200, "{\"correct\":" + correct + ",\"session\":" + sessionJson(session) + "}");
+    }
+
+    // "0".."3" or "A".."D" (either case) to an option index, otherwise NO_OPTION
+    static int parseOption(String value) {
+        if (value.length() != 1) {
+            return Question.NO_OPTION;
+        }
+        char c = value.charAt(0);
+        if (c >= '0' && c <= '3') {
+            return c - '0';
+        }
+        c = Character.toUpperCase(c);
+        return c >= 'A' && c <= 'D' ? c - 'A' : Question.NO_OPTION;
+    }
+
+    private void finishQuiz(HttpExchange exchange, QuizSession session) throws IOException {
+        boolean saved = quizManager.finishSession(session.getId());
+        sendJson(exchange, 200, "{\"saved\":" + saved + ",\"session\":" + sessionJson(session) + "}");
+    }
+
+    private void handleLeaderboard(HttpExchange exchange) throws IOException {
+        try {
+            int limit;
+            try {
+                limit = Integer.parseInt(readParams(exchange).getOrDefault("limit", "10"));
+            } catch (NumberFormatException e) {
+                sendError(exchange, 400, "limit must be a number");
+                return;
+            }
+            limit = Math.max(1, Math.min(100, limit));
+
+            List<DatabaseManager.ScoreRecord> scores = quizManager.getTopScores(limit);
+            StringBuilder json = new StringBuilder("[");
+            for (DatabaseManager.ScoreRecord record : scores) {
+                if (json.length() > 1) {
+                    json.append(',');
+                }
+                json.append("{\"player\":").append(quote(record.getPlayerName()))
+                        .append(",\"score\":").append(record.getScore())
+                        .append(",\"totalQuestions\":").append(record.getTotalQuestions())
+                        .append(",\"percentage\":").append(String.format(Locale.ROOT, "%.1f", record.getPercentage()))
+                        .append(",\"datePlayed\":").append(quote(String.valueOf(record.getDatePlayed())))
+                        .append('}');
+            }
+            sendJson(exchange, 200, json.append(']').toString());
+        } catch (RuntimeException e) {
+            System.err.println("Error handling " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleHealth(HttpExchange exchange) throws IOException {
+        try {
+            sendJson(exchange, 200, "{\"questions\":" + quizManager.getTotalQuestionsCount()
+                    + ",\"activeSessions\":" + quizManager.getActiveSessionCount() + "}");
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleMetrics(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = QuizMetrics.dumpPrometheus().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private interface SessionAction {
+        void apply(QuizSession session) throws IOException;
+    }
+
+    private void withSession(HttpExchange exchange, String sessionId, SessionAction action) throws IOException {
+        QuizSession session = quizManager.getSession(sessionId);
+        if (session == null) {
+            sendError(exchange, 404, "Unknown or expired session");
+            return;
+        }
+        session.checkTimeout();
+        action.apply(session);
+    }
+
+    // The question is sent without its correct answer
+    private static String sessionJson(QuizSession session) {
+        synchronized (session) {
+            StringBuilder json = new StringBuilder(256);
+            json.append("{\"sessionId\":").append(quote(session.getId()))
+                    .append(",\"player\":").append(quote(session.getPlayerName()))
+                    .append(",\"state\":").append(quote(session.getState().name()))
+                    .append(",\"index\":").append(session.getCurrentQuestionIndex())
+                    .append(",\"total\":").append(session.getTotalQuestions())
+                    .append(",\"score\":").append(session.getScore())
+                    .append(",\"timeouts\":").append(session.getTimeouts())
+                    .append(",\"remainingMillis\":").append(session.getRemainingMillis());
+
+            Question question = session.getCurrentQuestion();
+            if (question != null) {
+                json.append(",\"question\":{\"id\":").append(question.getId())
+                        .append(",\"text\":").append(quote(question.getQuestion()))
+                        .append(",\"options\":[")
+                        .append(quote(question.getA())).append(',')
+                        .append(quote(question.getB())).append(',')
+                        .append(quote(question.getC())).append(',')
+                        .append(quote(question.getD())).append("]}");
+            }
+            return json.append('}').toString();
+        }
+    }
+
+    private static Map<String, String> readParams(HttpExchange exchange) throws IOException {
+        Map<String, String> params = new HashMap<>();
+        parseForm(exchange.getRequestURI().getRawQuery(), params);
+        if (exchange.getRequestMethod().equals("POST")) {
+            try (InputStream body = exchange.getRequestBody()) {
+                parseForm(new String(body.readAllBytes(), StandardCharsets.UTF_8), params);
+            }
+        }
+        return params;
+    }
+
+    private static void parseForm(String form, Map<String, String> params) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        sendJson(exchange, status, "{\"error\":" + quote(message) + "}");
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+
+        QuizMetrics.registerMBean();
+        QuizConfig config = QuizConfig.load();
+        QuizBackend backend;
+        try {
+            backend = QuizBackend.open(config);
+        } catch (IllegalArgumentException e) {
+            System.err.println("Configuration error: " + e.getMessage());
+            System.exit(2);
+            return;
+        }
+        QuizManager quizManager = new QuizManager(backend);
+        quizManager.startAutoRefresh(config.getRefreshIntervalMillis());
+        QuizServer server = new QuizServer(quizManager, port);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.stop();
+            quizManager.stopAutoRefresh();
+            backend.close();
+        }, "quiz-server-shutdown"));
+
+        server.start();
+    }
+}
@@ -0,0 +1,103 @@
+package com.quiz.app;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs all database-backed work off the caller's thread.
+ * <p>
+ * Every method returns a {@link CompletableFuture} completed on the service's executor; UI code
+ * continues with {@code thenAcceptAsync(..., Platform::runLater)} so JDBC never runs on the
+ * JavaFX Application Thread.
+ */
+public class QuizService {
+
+    private final ExecutorService executor;
+    private volatile QuizBackend backend;
+    private volatile QuizManager quizManager;
+
+    public QuizService() {
+        this(newDataAccessExecutor());
+    }
+
+    public QuizService(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    // Virtual threads when the runtime has them (JDK 21+), otherwise a small pool of daemon threads
+    static ExecutorService newDataAccessExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            return Executors.newFixedThreadPool(4, r -> {
+                Thread t = new Thread(r, "quiz-data-" + counter.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+        }
+    }
+
+    // Opens the configured backend (see QuizConfig) and loads the question catalog
+    public CompletableFuture<QuizManager> connect() {
+        return CompletableFuture.supplyAsync(() -> {
+            QuizConfig config = QuizConfig.load();
+            backend = QuizBackend.open(config);
+            quizManager = new QuizManager(backend);
+            quizManager.startAutoRefresh(config.getRefreshIntervalMillis());
+            return quizManager;
+        }, executor);
+    }
+
+    public CompletableFuture<List<Question>> loadQuiz(int questionCount) {
+        return CompletableFuture.supplyAsync(() -> requireQuizManager().getRandomQuestions(questionCount), executor);
+    }
+
+    public CompletableFuture<QuizSession> startSession(String playerName, int questionCount) {
+        return CompletableFuture.supplyAsync(() -> requireQuizManager().startSession(playerName, questionCount), executor);
+    }
+
+    // Finishes the session and saves its score
+    public CompletableFuture<Boolean> finishSession(String sessionId) {
+        return CompletableFuture.supplyAsync(() -> requireQuizManager().finishSession(sessionId), executor);
+    }
+
+    public CompletableFuture<Boolean> saveScore(String playerName, int score) {
+        return CompletableFuture.supplyAsync(() -> requireQuizManager().saveScore(playerName, score), executor);
+    }
+
+    public CompletableFuture<List<DatabaseManager.ScoreRecord>> getTopScores(int limit) {
+        return CompletableFuture.supplyAsync(() -> requireQuizManager().getTopScores(limit), executor);
+    }
+
+    public CompletableFuture<Void> refreshQuestions() {
+        return CompletableFuture.runAsync(() -> requireQuizManager().refreshQuestions(), executor);
+    }
+
+    public QuizManager getQuizManager() {
+        return quizManager;
+    }
+
+    private QuizManager requireQuizManager() {
+        QuizManager manager = quizManager;
+        if (manager == null) {
+            throw new IllegalStateException("Quiz data is not loaded yet");
+        }
+        return manager;
+    }
+
+    // Flushes pending writes and closes the backend, then stops the executor
+    public CompletableFuture<Void> shutdown() {
+        return CompletableFuture.runAsync(() -> {
+            if (quizManager != null) {
+                quizManager.stopAutoRefresh();
+            }
+            if (backend != null) {
+                backend.close();
+            }
+        }, executor).whenComplete((ignored, error) -> executor.shutdown());
+    }
+}
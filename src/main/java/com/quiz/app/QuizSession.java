@@ -0,0 +1,185 @@
+package com.quiz.app;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * One player's quiz, independent of any UI.
+ * <p>
+ * A session walks through its questions in order: each question is either answered or times
+ * out, and the session finishes after the last one (or when {@link #finish()} is called early).
+ * All methods are synchronized, so a session can be driven from any thread; independent
+ * sessions share nothing but the immutable questions.
+ */
+public class QuizSession {
+
+    public enum State { IN_PROGRESS, FINISHED }
+
+    private final String id;
+    private final String playerName;
+    private final List<Question> questions;
+    private final QuizClock clock;
+    // Where answer outcomes are recorded; may be null
+    private final QuestionTelemetry telemetry;
+    private final byte[] answers;
+    private final long startedAt = System.currentTimeMillis();
+
+    private int currentIndex;
+    private int score;
+    private int timeouts;
+    private State state = State.IN_PROGRESS;
+    private volatile long lastActivity = startedAt;
+
+    public QuizSession(String id, String playerName, List<Question> questions, QuizClock clock) {
+        this(id, playerName, questions, clock, null);
+    }
+
+    public QuizSession(String id, String playerName, List<Question> questions, QuizClock clock,
+                       QuestionTelemetry telemetry) {
+        this.id = id;
+        this.playerName = playerName;
+        this.questions = List.copyOf(questions);
+        this.clock = clock;
+        this.telemetry = telemetry;
+        this.answers = new byte[this.questions.size()];
+        Arrays.fill(answers, (byte) Question.NO_OPTION);
+
+        clock.reset();
+        if (this.questions.isEmpty()) {
+            state = State.FINISHED;
+        } else {
+            clock.startQuestion();
+        }
+    }
+
+    // The question waiting for an answer, or null once the session is finished
+    public synchronized Question getCurrentQuestion() {
+        return state == State.IN_PROGRESS ? questions.get(currentIndex) : null;
+    }
+
+    // Grades the selected option (Question.OPTION_A..OPTION_D, or NO_OPTION for none) and moves on.
+    // A late answer counts as a timeout.
+    public synchronized boolean answer(int selectedOption) {
+        requireInProgress();
+        if (clock.isExpired()) {
+            timeOut();
+            return false;
+        }
+
+        if (selectedOption < Question.OPTION_A || selectedOption > Question.OPTION_D) {
+            selectedOption = Question.NO_OPTION;
+        }
+        long responseMillis = clock.finishQuestion();
+        Question question = questions.get(currentIndex);
+        boolean correct = question.isCorrectOption(selectedOption);
+        QuizMetrics.ANSWERS.increment();
+        if (correct) {
+            score++;
+            QuizMetrics.CORRECT_ANSWERS.increment();
+        }
+        if (telemetry != null) {
+            telemetry.recordAnswer(question.getId(), correct, responseMillis);
+        }
+        answers[currentIndex] = (byte) selectedOption;
+        advance();
+        return correct;
+    }
+
+    // Same as answer(int), for callers that only have the option text
+    public synchronized boolean answer(String selectedAnswer) {
+        requireInProgress();
+        return answer(questions.get(currentIndex).optionIndexOf(selectedAnswer));
+    }
+
+    // Moves on if the current question's time is up; returns whether it did
+    public synchronized boolean checkTimeout() {
+        if (state == State.IN_PROGRESS && clock.isExpired()) {
+            timeOut();
+            return true;
+        }
+        return false;
+    }
+
+    // Skips the current question without an answer
+    public synchronized void timeOut() {
+        requireInProgress();
+        clock.finishQuestion();
+        timeouts++;
+        QuizMetrics.TIMEOUTS.increment();
+        if (telemetry != null) {
+            telemetry.recordTimeout(questions.get(currentIndex).getId());
+        }
+        advance();
+    }
+
+    // Ends the session now; unanswered questions score nothing
+    public synchronized void finish() {
+        if (state == State.IN_PROGRESS) {
+            clock.finishQuestion();
+            state = State.FINISHED;
+        }
+        touch();
+    }
+
+    public synchronized void pause() {
+        clock.pause();
+    }
+
+    public synchronized void resume() {
+        clock.resume();
+        touch();
+    }
+
+    private void advance() {
+        currentIndex++;
+        if (currentIndex >= questions.size()) {
+            state = State.FINISHED;
+        } else {
+            clock.startQuestion();
+        }
+        touch();
+    }
+
+    private void touch() {
+        lastActivity = System.currentTimeMillis();
+    }
+
+    private void requireInProgress() {
+        if (state != State.IN_PROGRESS) {
+            throw new IllegalStateException("Quiz session " + id + " is already finished");
+        }
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getPlayerName() { return playerName; }
+    public long getStartedAt() { return startedAt; }
+    public long getLastActivity() { return lastActivity; }
+    public synchronized State getState() { return state; }
+    public synchronized boolean isFinished() { return state == State.FINISHED; }
+    public synchronized int getCurrentQuestionIndex() { return currentIndex; }
+    public synchronized int getScore() { return score; }
+    public synchronized int getTimeouts() { return timeouts; }
+    public int getTotalQuestions() { return questions.size(); }
+    public synchronized int getSelectedOption(int questionIndex) { return answers[questionIndex]; }
+
+    // Text of the option chosen for a question, or null if it was skipped or timed out
+    public synchronized String getSelectedAnswer(int questionIndex) {
+        int option = answers[questionIndex];
+        return option == Question.NO_OPTION ? null : questions.get(questionIndex).getOption(option);
+    }
+    public synchronized long getRemainingMillis() { return clock.getRemainingMillis(); }
+    public synchronized int getRemainingSeconds() { return clock.getRemainingSeconds(); }
+    public synchronized long[] getResponseLatenciesMillis() { return clock.getResponseLatenciesMillis(); }
+    public synchronized double getAverageResponseMillis() { return clock.getAverageResponseMillis(); }
+
+    public synchronized double getPercentage() {
+        return questions.isEmpty() ? 0 : (double) score / questions.size() * 100;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format("QuizSession{id=%s, player=%s, question %d of %d, score=%d, state=%s}",
+                id, playerName, Math.min(currentIndex + 1, questions.size()), questions.size(), score, state);
+    }
+}
@@ -0,0 +1,63 @@
+package com.quiz.app;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Uniform sampling of distinct indexes without copying or shuffling the source collection.
+ * Uses Floyd's algorithm, so the work is O(count) no matter how large the catalog is.
+ */
+final class RandomSampler {
+
+    // Below this size a linear scan of the sample is cheaper than a hash set (and allocates nothing)
+    private static final int LINEAR_SCAN_LIMIT = 32;
+
+    private RandomSampler() {}
+
+    // Returns min(count, bound) distinct indexes in [0, bound), in uniformly random order
+    static int[] sampleIndexes(int bound, int count) {
+        if (count > bound) {
+            count = bound;
+        }
+        if (count <= 0) {
+            return new int[0];
+        }
+
+        Random random = ThreadLocalRandom.current();
+        int[] sample = new int[count];
+        Set<Integer> chosen = count > LINEAR_SCAN_LIMIT ? new HashSet<>(count * 2) : null;
+        int size = 0;
+
+        for (int j = bound - count; j < bound; j++) {
+            int t = random.nextInt(j + 1);
+            boolean seen = chosen != null ? !chosen.add(t) : contains(sample, size, t);
+            if (seen) {
+                t = j;
+                if (chosen != null) {
+                    chosen.add(j);
+                }
+            }
+            sample[size++] = t;
+        }
+
+        // Floyd picks a uniform set but not a uniform order, so shuffle the (small) result
+        for (int i = size - 1; i > 0; i--) {
+            int k = random.nextInt(i + 1);
+            int tmp = sample[i];
+            sample[i] = sample[k];
+            sample[k] = tmp;
+        }
+        return sample;
+    }
+
+    private static boolean contains(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
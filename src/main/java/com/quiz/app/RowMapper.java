@@ -0,0 +1,113 @@
+package com.quiz.app;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Turns result set rows into objects, reading columns by position.
+ * <p>
+ * Looking a column up by name costs a label search on every call, for every row. A mapper is
+ * instead compiled against the result set's metadata once: the column positions are resolved
+ * up front and each row is then read with plain index access. Optional columns (such as the
+ * questions table's category) map to null when the result set doesn't have them.
+ */
+public abstract class RowMapper<T> {
+
+    // Maps the current row of the result set the mapper was compiled for
+    @FunctionalInterface
+    public interface Compiled<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    public static final RowMapper<com.quiz.app.Question> QUESTION = new RowMapper<>() {
+        @Override
+        public Compiled<com.quiz.app.Question> compile(Columns columns) throws SQLException {
+            int id = columns.require("id");
+            int question = columns.require("question");
+            int a = columns.require("a");
+            int b = columns.require("b");
+            int c = columns.require("c");
+            int d = columns.require("d");
+            int correct = columns.require("correct");
+            int category = columns.find("category");
+            return rs -> new Question(
+                    rs.getInt(id),
+                    rs.getString(question),
+                    rs.getString(a),
+                    rs.getString(b),
+                    rs.getString(c),
+                    rs.getString(d),
+                    rs.getString(correct),
+                    category > 0 ? rs.getString(category) : null
+            );
+        }
+    };
+
+    public static final RowMapper<DatabaseManager.ScoreRecord> SCORE = new RowMapper<>() {
+        @Override
+        public Compiled<DatabaseManager.ScoreRecord> compile(Columns columns) throws SQLException {
+            int playerName = columns.require("player_name");
+            int score = columns.require("score");
+            int totalQuestions = columns.require("total_questions");
+            int datePlayed = columns.require("date_played");
+            return rs -> new DatabaseManager.ScoreRecord(
+                    rs.getString(playerName),
+                    rs.getInt(score),
+                    rs.getInt(totalQuestions),
+                    rs.getTimestamp(datePlayed)
+            );
+        }
+    };
+
+    // Resolves the column positions this mapper needs
+    public abstract Compiled<T> compile(Columns columns) throws SQLException;
+
+    public Compiled<T> compile(ResultSet rs) throws SQLException {
+        return compile(new Columns(rs.getMetaData()));
+    }
+
+    // Maps every remaining row, compiling once for the whole result set
+    public void forEach(ResultSet rs, Consumer<? super T> consumer) throws SQLException {
+        Compiled<T> mapper = compile(rs);
+        while (rs.next()) {
+            consumer.accept(mapper.map(rs));
+        }
+    }
+
+    public void addAll(ResultSet rs, List<? super T> target) throws SQLException {
+        forEach(rs, target::add);
+    }
+
+    // Column labels of a result set, matched case-insensitively
+    public static final class Columns {
+        private final Map<String, Integer> positions;
+
+        public Columns(ResultSetMetaData metaData) throws SQLException {
+            int count = metaData.getColumnCount();
+            positions = new HashMap<>(count * 2);
+            for (int i = count; i >= 1; i--) {
+                // Iterating backwards keeps the first occurrence of a repeated label, like findColumn
+                positions.put(metaData.getColumnLabel(i).toLowerCase(Locale.ROOT), i);
+            }
+        }
+
+        // 1-based position of the column, or 0 if the result set doesn't have it
+        public int find(String label) {
+            return positions.getOrDefault(label.toLowerCase(Locale.ROOT), 0);
+        }
+
+        public int require(String label) throws SQLException {
+            int position = find(label);
+            if (position == 0) {
+                throw new SQLException("Result set has no column '" + label + "'");
+            }
+            return position;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.quiz.app;
+
+import java.util.List;
+
+/**
+ * Where finished quiz scores go and where the leaderboard is read from.
+ * <p>
+ * {@link DatabaseManager} keeps them in the database; {@link InMemoryScoreRepository} keeps
+ * them for the life of the process only, for running without one.
+ */
+public interface ScoreRepository extends AutoCloseable {
+
+    // Returns false only if the score could not be kept at all
+    boolean saveScore(String playerName, int score, int totalQuestions);
+
+    List<DatabaseManager.ScoreRecord> getTopScores(int limit);
+
+    // Null if the player has no saved score
+    PlayerStatsStore.PlayerStats getPlayerStats(String playerName);
+
+    // 1-based rank of the player's best percentage, or -1 if they have no saved score
+    int getRankOf(String playerName);
+
+    @Override
+    void close();
+}
@@ -0,0 +1,340 @@
+package com.quiz.app;
+
+import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Write-behind queue for quiz scores.
+ * <p>
+ * {@link #submit} only enqueues; a background thread groups scores into JDBC batches and writes
+ * them when the batch is full or the oldest score has waited {@code flushIntervalMillis}. If the
+ * database can't be reached, the batch is appended to a local spill file and replayed later, so
+ * a score is never lost just because MySQL was briefly down.
+ * <p>
+ * Every copy of the app on a machine shares the spill file, so appending and replaying also take
+ * an OS file lock on a sibling {@code .lock} file. Only one process replays at a time; the others
+ * skip their attempt and append after it finishes.
+ */
+public class ScoreWriter implements AutoCloseable {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scores (player_name, score, total_questions, date_played) VALUES (?, ?, ?, ?)";
+    private static final long OFFER_TIMEOUT_MILLIS = 2_000;
+    private static final long SPILL_RETRY_MILLIS = 30_000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    // One monitor per spill file in this JVM; file locks only keep other processes out
+    private static final ConcurrentMap<Path, Object> SPILL_LOCKS = new ConcurrentHashMap<>();
+
+    private final ConnectionPool pool;
+    private final Path spillFile;
+    private final Path spillLockFile;
+    private final int batchSize;
+    private final long flushIntervalMillis;
+    private final BlockingQueue<DatabaseManager.ScoreRecord> queue;
+    private final Thread worker;
+    private final Object commitLock;
+    private final Consumer<List<DatabaseManager.ScoreRecord>> onWritten;
+    private final Object spillLock;
+    private volatile boolean closing;
+    private long lastReplayAttempt;
+
+    // onWritten is called on the writer thread with every batch once it is committed. Writing a
+    // batch and calling onWritten happen under commitLock, so code holding that lock never sees a
+    // batch in the table that onWritten has not been given yet.
+    public ScoreWriter(ConnectionPool pool, Path spillFile, int capacity, int batchSize, long flushIntervalMillis,
+                       Object commitLock, Consumer<List<DatabaseManager.ScoreRecord>> onWritten) {
+        this.pool = pool;
+        this.commitLock = commitLock;
+        this.onWritten = onWritten;
+        this.spillFile = spillFile;
+        this.spillLockFile = spillFile.resolveSibling(spillFile.getFileName() + ".lock");
+        this.spillLock = SPILL_LOCKS.computeIfAbsent(spillFile.toAbsolutePath().normalize(), path -> new Object());
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        worker = new Thread(this::run, "score-writer");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    // Queues a score for writing. Blocks briefly when the queue is full, then spills to disk instead.
+    public boolean submit(DatabaseManager.ScoreRecord record) {
+        if (!closing) {
+            try {
+                if (queue.offer(record, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+                System.err.println("Score queue is full, spilling score for " + record.getPlayerName() + " to disk");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return spill(List.of(record));
+    }
+
+    public int getPendingCount() {
+        return queue.size();
+    }
+
+    private void run() {
+        List<DatabaseManager.ScoreRecord> batch = new ArrayList<>(batchSize);
+        replaySpillFile();
+
+        while (!closing || !queue.isEmpty()) {
+            try {
+                DatabaseManager.ScoreRecord first = queue.poll(flushIntervalMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    batch.add(first);
+                    long deadline = System.currentTimeMillis() + flushIntervalMillis;
+                    // Keep filling the batch until it's full or the oldest score has waited long enough
+                    while (batch.size() < batchSize && !closing) {
+                        long remaining = deadline - System.currentTimeMillis();
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        DatabaseManager.ScoreRecord next = queue.poll(remaining, TimeUnit.MILLISECONDS);
+                        if (next == null) {
+                            break;
+                        }
+                        batch.add(next);
+                        queue.drainTo(batch, batchSize - batch.size());
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+            if (System.currentTimeMillis() - lastReplayAttempt > SPILL_RETRY_MILLIS) {
+                replaySpillFile();
+            }
+        }
+    }
+
+    private void flush(List<DatabaseManager.ScoreRecord> batch) {
+        try {
+            writeBatch(batch);
+            System.out.println("Saved " + batch.size() + " score(s) to database");
+        } catch (SQLException e) {
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Error saving scores, spilling " + batch.size() + " to disk: " + e.getMessage());
+            spill(batch);
+        }
+    }
+
+    private void writeBatch(List<DatabaseManager.ScoreRecord> batch) throws SQLException {
+        synchronized (commitLock) {
+            long start = QuizMetrics.startTimer();
+            try {
+                writeBatchLocked(batch);
+            } finally {
+                QuizMetrics.DB_WRITE_SCORE_BATCH.recordSince(start);
+            }
+        }
+    }
+
+    private void writeBatchLocked(List<DatabaseManager.ScoreRecord> batch) throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement pstmt = connection.prepareStatement(INSERT_SQL)) {
+                for (DatabaseManager.ScoreRecord record : batch) {
+                    pstmt.setString(1, record.getPlayerName());
+                    pstmt.setInt(2, record.getScore());
+                    pstmt.setInt(3, record.getTotalQuestions());
+                    pstmt.setTimestamp(4, record.getDatePlayed());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+                connection.commit();
+                onWritten.accept(batch);
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(true);
+            }
+        }
+    }
+
+    // Appends scores to the spill file and syncs it to disk, waiting out a replay in another process
+    private boolean spill(List<DatabaseManager.ScoreRecord> records) {
+        synchronized (spillLock) {
+            try (FileChannel lockChannel = openSpillLockFile();
+                 FileLock lock = lockChannel.lock()) {
+                appendToSpillFile(records);
+                return true;
+            } catch (IOException e) {
+                System.err.println("Error writing score spill file " + spillFile + ": " + e.getMessage());
+                return false;
+            }
+        }
+    }
+
+    // Caller holds the spill lock
+    private void appendToSpillFile(List<DatabaseManager.ScoreRecord> records) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(spillFile.toFile(), true);
+             Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8)) {
+            for (DatabaseManager.ScoreRecord record : records) {
+                writer.write(toSpillLine(record));
+                writer.write('\n');
+            }
+            writer.flush();
+            out.getFD().sync();
+        }
+    }
+
+    private FileChannel openSpillLockFile() throws IOException {
+        Files.createDirectories(spillFile.toAbsolutePath().getParent());
+        return FileChannel.open(spillLockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+    }
+
+    // Writes previously spilled scores to the database and removes the file on success
+    private void replaySpillFile() {
+        lastReplayAttempt = System.currentTimeMillis();
+        synchronized (spillLock) {
+            if (!Files.exists(spillFile)) {
+                return;
+            }
+            try (FileChannel lockChannel = openSpillLockFile();
+                 FileLock lock = lockChannel.tryLock()) {
+                if (lock == null) {
+                    // Another process is replaying; whatever it can't write is left for the next attempt
+                    return;
+                }
+                replayLocked();
+            } catch (IOException e) {
+                System.err.println("Error locking score spill file " + spillLockFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void replayLocked() {
+        // Another process may have replayed it while this one waited for the lock
+        if (!Files.exists(spillFile)) {
+            return;
+        }
+
+        List<DatabaseManager.ScoreRecord> records = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(spillFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                DatabaseManager.ScoreRecord record = fromSpillLine(line);
+                if (record != null) {
+                    records.add(record);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading score spill file " + spillFile + ": " + e.getMessage());
+            return;
+        }
+
+        int written = 0;
+        try {
+            while (written < records.size()) {
+                int to = Math.min(records.size(), written + batchSize);
+                writeBatch(records.subList(written, to));
+                written = to;
+            }
+            Files.delete(spillFile);
+            if (!records.isEmpty()) {
+                System.out.println("Recovered " + records.size() + " spilled score(s)");
+            }
+        } catch (SQLException e) {
+            // Still unreachable; keep only what wasn't written so a later replay doesn't duplicate rows
+            QuizMetrics.DB_ERRORS.increment();
+            System.err.println("Could not replay spilled scores yet: " + e.getMessage());
+            if (written > 0) {
+                rewriteSpillFile(records.subList(written, records.size()));
+            }
+        } catch (IOException e) {
+            System.err.println("Error removing score spill file " + spillFile + ": " + e.getMessage());
+        }
+    }
+
+    // Caller holds the spill lock
+    private void rewriteSpillFile(List<DatabaseManager.ScoreRecord> remaining) {
+        try {
+            Files.delete(spillFile);
+            appendToSpillFile(remaining);
+        } catch (IOException e) {
+            System.err.println("Error rewriting score spill file " + spillFile + ": " + e.getMessage());
+        }
+    }
+
+    // Flushes everything still queued, then stops the worker
+    @Override
+    public void close() {
+        closing = true;
+        try {
+            worker.join(CLOSE_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<DatabaseManager.ScoreRecord> leftover = new ArrayList<>();
+        queue.drainTo(leftover);
+        if (!leftover.isEmpty()) {
+            spill(leftover);
+        }
+    }
+
+    private static String toSpillLine(DatabaseManager.ScoreRecord record) {
+        // Name goes last so it may contain anything but line breaks and backslashes, which are escaped
+        String name = record.getPlayerName()
+                .replace("\\", "\\\\")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r");
+        return record.getDatePlayed().getTime() + "\t" + record.getScore() + "\t"
+                + record.getTotalQuestions() + "\t" + name;
+    }
+
+    private static DatabaseManager.ScoreRecord fromSpillLine(String line) {
+        String[] parts = line.split("\t", 4);
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            StringBuilder name = new StringBuilder(parts[3].length());
+            for (int i = 0; i < parts[3].length(); i++) {
+                char c = parts[3].charAt(i);
+                if (c == '\\' && i + 1 < parts[3].length()) {
+                    char next = parts[3].charAt(++i);
+                    name.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+                } else {
+                    name.append(c);
+                }
+            }
+            return new DatabaseManager.ScoreRecord(name.toString(), Integer.parseInt(parts[1]),
+                    Integer.parseInt(parts[2]), new Timestamp(Long.parseLong(parts[0])));
+        } catch (NumberFormatException e) {
+            System.err.println("Skipping malformed spilled score: " + line);
+            return null;
+        }
+    }
+}
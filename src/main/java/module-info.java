@@ -2,7 +2,10 @@ module com.quiz.app {
     requires javafx.controls;
     requires javafx.fxml;
     requires java.sql;
+    requires java.management;
     requires java.desktop;
+    requires java.net.http;
+    requires jdk.httpserver;
 
     opens com.quiz.app to javafx.fxml;
     exports com.quiz.app;
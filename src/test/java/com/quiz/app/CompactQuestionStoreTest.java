@@ -0,0 +1,110 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class CompactQuestionStoreTest {
+
+    @Test
+    void roundTripsEveryField() {
+        List<Question> questions = new ArrayList<>();
+        questions.add(new Question(1, "Capital of Bangladesh?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka", "Geography"));
+        questions.add(new Question(2, "বাংলাদেশের জাতীয় ফুল কী?", "গোলাপ", "শাপলা", "জবা", "বেলি", "শাপলা", "Culture"));
+        questions.add(new Question(-3, "Longest river?", "Padma", "Meghna", "Jamuna", "Karnaphuli", "Karnaphuli", "Geography"));
+        questions.add(new Question(4, "", "", "x", "y", "z", "", null));
+        CompactQuestionStore store = CompactQuestionStore.of(questions);
+
+        assertEquals(questions.size(), store.size());
+        List<Question> view = store.asList();
+        for (int position = 0; position < questions.size(); position++) {
+            Question original = questions.get(position);
+            assertSameQuestion(original, store.get(position));
+            assertSameQuestion(original, view.get(position));
+            assertSameQuestion(original, store.getById(original.getId()));
+            assertEquals(position, store.positionOf(original.getId()));
+        }
+        assertEquals(1, store.getCorrectIndex(1));
+        assertEquals(3, store.getCorrectIndex(2));
+        assertEquals(Question.DEFAULT_CATEGORY, store.getCategory(3));
+        assertEquals(-1, store.positionOf(5));
+        assertNull(store.getById(0));
+    }
+
+    @Test
+    void correctAnswerThatMatchesNoOptionIsKeptVerbatim() {
+        // Question grades these trimmed and case-insensitively; the store matches exactly and keeps the text
+        List<Question> questions = List.of(
+                new Question(1, "Q1?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka "),
+                new Question(2, "Q2?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "  khulna"),
+                new Question(3, "Q3?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Chittagong"));
+        CompactQuestionStore store = CompactQuestionStore.of(questions);
+
+        for (int position = 0; position < questions.size(); position++) {
+            assertEquals(CompactQuestionStore.NO_OPTION, store.getCorrectIndex(position));
+            assertEquals(questions.get(position).getCorrect(), store.getCorrect(position));
+            assertSameQuestion(questions.get(position), store.get(position));
+        }
+        assertEquals(Question.OPTION_A, store.get(0).getCorrectOption());
+        assertEquals(Question.OPTION_B, store.get(1).getCorrectOption());
+        assertEquals(Question.NO_OPTION, store.get(2).getCorrectOption());
+    }
+
+    @Test
+    void nullTextComesBackEmptyAndNullCorrectStaysNull() {
+        List<Question> questions = List.of(
+                new Question(1, null, "Dhaka", null, "Sylhet", null, "Sylhet"),
+                new Question(2, "Q2?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", null));
+        CompactQuestionStore store = CompactQuestionStore.of(questions);
+
+        Question first = store.get(0);
+        assertEquals("", first.getQuestion());
+        assertEquals("Dhaka", first.getA());
+        assertEquals("", first.getB());
+        assertEquals("", first.getD());
+        assertEquals("Sylhet", first.getCorrect());
+        assertEquals(Question.OPTION_C, first.getCorrectOption());
+
+        assertEquals(CompactQuestionStore.NO_OPTION, store.getCorrectIndex(1));
+        assertNull(store.getCorrect(1));
+        assertNull(store.get(1).getCorrect());
+        assertEquals(Question.NO_OPTION, store.get(1).getCorrectOption());
+    }
+
+    @Test
+    void duplicateIdResolvesToTheFirstPosition() {
+        List<Question> questions = List.of(
+                new Question(7, "First?", "A", "B", "C", "D", "A"),
+                new Question(8, "Other?", "A", "B", "C", "D", "B"),
+                new Question(7, "Second?", "A", "B", "C", "D", "C"));
+        CompactQuestionStore store = CompactQuestionStore.of(questions);
+
+        assertEquals(3, store.size());
+        assertEquals(0, store.positionOf(7));
+        assertEquals("First?", store.getById(7).getQuestion());
+        assertEquals("Second?", store.get(2).getQuestion());
+    }
+
+    @Test
+    void emptyCatalog() {
+        CompactQuestionStore store = CompactQuestionStore.of(List.of());
+        assertEquals(0, store.size());
+        assertEquals(0, store.asList().size());
+        assertEquals(-1, store.positionOf(0));
+    }
+
+    private static void assertSameQuestion(Question expected, Question actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getQuestion(), actual.getQuestion());
+        for (int option = Question.OPTION_A; option <= Question.OPTION_D; option++) {
+            assertEquals(expected.getOption(option), actual.getOption(option));
+        }
+        assertEquals(expected.getCorrect(), actual.getCorrect());
+        assertEquals(expected.getCorrectOption(), actual.getCorrectOption());
+        assertEquals(expected.getCategory(), actual.getCategory());
+    }
+}
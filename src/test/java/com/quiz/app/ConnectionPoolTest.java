@@ -0,0 +1,216 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConnectionPoolTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final String SELECT_ONE = "SELECT id FROM items WHERE id = ?";
+    private static final String SELECT_ALL = "SELECT id FROM items ORDER BY id";
+
+    private String url;
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:h2:mem:pool-" + DATABASES.incrementAndGet() + ";DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE items (id INT PRIMARY KEY)");
+            stmt.executeUpdate("INSERT INTO items VALUES (1), (2), (3)");
+        }
+        // One connection, so every borrow gets the same physical connection and its statements
+        pool = new ConnectionPool(() -> DriverManager.getConnection(url, "sa", ""), 1, 1_000, 60_000, 60_000, 1);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.close();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void closedStatementIsReusedWithClearedParameters() throws SQLException {
+        PreparedStatement physical;
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement(SELECT_ONE);
+            first.setInt(1, 2);
+            assertEquals(2, firstId(first));
+            physical = first.unwrap(PreparedStatement.class);
+            first.close();
+            assertTrue(first.isClosed());
+            assertThrows(SQLException.class, first::executeQuery);
+
+            PreparedStatement second = connection.prepareStatement(SELECT_ONE);
+            assertSame(physical, second.unwrap(PreparedStatement.class));
+            // The parameter set by the previous user is gone
+            assertThrows(SQLException.class, second::executeQuery);
+            second.setInt(1, 3);
+            assertEquals(3, firstId(second));
+            second.close();
+        }
+
+        ConnectionPool.PoolStats stats = pool.getStats();
+        assertEquals(1, stats.getStatementCacheHits());
+        assertEquals(1, stats.getStatementCacheMisses());
+        assertFalse(physical.isClosed());
+    }
+
+    @Test
+    void statementsLeftOpenAreReclaimedOnRelease() throws SQLException {
+        PreparedStatement leftOpen;
+        ResultSet openResults;
+        PreparedStatement physical;
+        try (Connection connection = pool.getConnection()) {
+            leftOpen = connection.prepareStatement(SELECT_ALL);
+            openResults = leftOpen.executeQuery();
+            assertTrue(openResults.next());
+            physical = leftOpen.unwrap(PreparedStatement.class);
+        }
+
+        // The borrower's handle is dead, but the statement itself went back to the cache
+        assertTrue(leftOpen.isClosed());
+        assertThrows(SQLException.class, leftOpen::executeQuery);
+        assertTrue(openResults.isClosed());
+        assertFalse(physical.isClosed());
+
+        try (Connection connection = pool.getConnection();
+             PreparedStatement again = connection.prepareStatement(SELECT_ALL)) {
+            assertSame(physical, again.unwrap(PreparedStatement.class));
+            assertEquals(1, firstId(again));
+        }
+        assertEquals(1, pool.getStats().getStatementCacheHits());
+    }
+
+    @Test
+    void closingAReturnedConnectionsStatementDoesNotTouchTheNextBorrower() throws SQLException {
+        PreparedStatement stale;
+        try (Connection connection = pool.getConnection()) {
+            stale = connection.prepareStatement(SELECT_ALL);
+        }
+        try (Connection connection = pool.getConnection();
+             PreparedStatement current = connection.prepareStatement(SELECT_ALL)) {
+            stale.close();
+            assertFalse(current.isClosed());
+            assertEquals(1, firstId(current));
+        }
+    }
+
+    @Test
+    void sameSqlPreparedTwiceGetsAOneOffCopy() throws SQLException {
+        PreparedStatement cachedPhysical;
+        PreparedStatement oneOffPhysical;
+        PreparedStatement leakedPhysical;
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement cached = connection.prepareStatement(SELECT_ALL);
+            PreparedStatement oneOff = connection.prepareStatement(SELECT_ALL);
+            cachedPhysical = cached.unwrap(PreparedStatement.class);
+            oneOffPhysical = oneOff.unwrap(PreparedStatement.class);
+            assertNotSame(cachedPhysical, oneOffPhysical);
+            assertSame(connection, oneOff.getConnection());
+            assertEquals(1, firstId(oneOff));
+
+            // A one-off copy is closed for real; the cached statement stays open
+            oneOff.close();
+            assertTrue(oneOffPhysical.isClosed());
+            assertFalse(cachedPhysical.isClosed());
+
+            // One left open is closed when the connection goes back
+            leakedPhysical = connection.prepareStatement(SELECT_ALL).unwrap(PreparedStatement.class);
+            cached.close();
+        }
+        assertTrue(leakedPhysical.isClosed());
+        assertFalse(cachedPhysical.isClosed());
+        assertEquals(3, pool.getStats().getStatementCacheMisses());
+    }
+
+    @Test
+    void statementEvictedWhileInUseStaysOpenUntilClosed() throws SQLException {
+        try (Connection connection = pool.getConnection()) {
+            PreparedStatement first = connection.prepareStatement(SELECT_ALL);
+            PreparedStatement firstPhysical = first.unwrap(PreparedStatement.class);
+
+            // The cache holds one statement, so this pushes the first one out
+            PreparedStatement second = connection.prepareStatement(SELECT_ONE);
+            assertFalse(firstPhysical.isClosed());
+            assertEquals(1, firstId(first));
+
+            first.close();
+            assertTrue(firstPhysical.isClosed());
+            second.close();
+
+            // Preparing the evicted SQL again is a miss with a new statement
+            try (PreparedStatement again = connection.prepareStatement(SELECT_ALL)) {
+                assertNotSame(firstPhysical, again.unwrap(PreparedStatement.class));
+            }
+        }
+        ConnectionPool.PoolStats stats = pool.getStats();
+        assertEquals(0, stats.getStatementCacheHits());
+        assertEquals(3, stats.getStatementCacheMisses());
+    }
+
+    @Test
+    void uncachedStatementsReportThePooledConnection() throws SQLException {
+        Connection physical;
+        try (Connection connection = pool.getConnection()) {
+            physical = connection.unwrap(Connection.class);
+            try (Statement plain = connection.createStatement();
+                 PreparedStatement withKeys = connection.prepareStatement(SELECT_ALL, Statement.RETURN_GENERATED_KEYS)) {
+                assertSame(connection, plain.getConnection());
+                assertSame(connection, withKeys.getConnection());
+                try (ResultSet rs = plain.executeQuery(SELECT_ALL)) {
+                    assertTrue(rs.next());
+                }
+                assertEquals(1, firstId(withKeys));
+
+                // Closing the connection a statement reports returns it to the pool
+                plain.getConnection().close();
+                assertTrue(connection.isClosed());
+            }
+        }
+        assertFalse(physical.isClosed());
+        try (Connection connection = pool.getConnection()) {
+            assertSame(physical, connection.unwrap(Connection.class));
+        }
+    }
+
+    @Test
+    void checkoutTimesOutWhenThePoolIsExhausted() throws SQLException {
+        try (Connection held = pool.getConnection()) {
+            assertThrows(SQLException.class, () -> pool.getConnection());
+        }
+        try (Connection connection = pool.getConnection()) {
+            assertFalse(connection.isClosed());
+        }
+        ConnectionPool.PoolStats stats = pool.getStats();
+        assertEquals(1, stats.getAcquireTimeouts());
+        assertEquals(1, stats.getCreatedCount());
+    }
+
+    private static int firstId(PreparedStatement statement) throws SQLException {
+        try (ResultSet rs = statement.executeQuery()) {
+            assertTrue(rs.next());
+            return rs.getInt(1);
+        }
+    }
+}
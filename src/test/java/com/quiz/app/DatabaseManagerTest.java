@@ -0,0 +1,155 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class DatabaseManagerTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    // While set, queries that read the scores table fail
+    private volatile boolean failScoreReads;
+    // Run once, right after the next commit and before the committing code continues
+    private final AtomicReference<Runnable> afterCommit = new AtomicReference<>();
+    private DatabaseManager database;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:manager-" + DATABASES.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        if (database != null) {
+            database.closeConnection();
+        }
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void leaderboardSeededWhileABatchCommitsHasEachScoreOnce() throws Exception {
+        failScoreReads = true;
+        database = new DatabaseManager(this::connect, dir.resolve("pending-scores.tsv"), 0);
+        failScoreReads = false;
+
+        // The first seed failed; retry it between the writer's commit and its callback
+        Thread reader = seedDuringNextCommit(() -> database.getTopScores(10));
+        database.saveScore("Rahat", 4, 5);
+        awaitWrite(reader);
+
+        List<DatabaseManager.ScoreRecord> top = database.getTopScores(10);
+        assertEquals(1, top.size());
+        assertEquals("Rahat", top.get(0).getPlayerName());
+    }
+
+    @Test
+    void playerStatsSeededWhileABatchCommitsCountEachScoreOnce() throws Exception {
+        failScoreReads = true;
+        database = new DatabaseManager(this::connect, dir.resolve("pending-scores.tsv"), 0);
+        failScoreReads = false;
+
+        Thread reader = seedDuringNextCommit(() -> database.getPlayerStats("Rahat"));
+        database.saveScore("Rahat", 4, 5);
+        awaitWrite(reader);
+
+        PlayerStatsStore.PlayerStats stats = database.getPlayerStats("Rahat");
+        assertEquals(1, stats.getAttempts());
+        assertEquals(80.0, stats.getAveragePercentage(), 0.001);
+        assertEquals(1, stats.getTotalPlayers());
+    }
+
+    // Starts the read on another thread once the next batch is committed, and gives it time to
+    // finish before the writer goes on to apply the batch in memory (unless the read is blocked)
+    private Thread seedDuringNextCommit(Runnable read) {
+        Thread reader = new Thread(read, "seed-retry");
+        afterCommit.set(() -> {
+            reader.start();
+            try {
+                reader.join(500);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        return reader;
+    }
+
+    // Closing flushes the writer, so the batch has been applied in memory once this returns
+    private void awaitWrite(Thread reader) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (afterCommit.get() != null && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertNull(afterCommit.get(), "the score batch was never committed");
+        reader.join();
+        database.closeConnection();
+    }
+
+    private Connection connect() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, "sa", "");
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("prepareStatement")) {
+                        checkScoreRead((String) args[0]);
+                    }
+                    Object result = invoke(physical, method, args);
+                    if (method.getName().equals("createStatement")) {
+                        return failingScoreReads((Statement) result);
+                    }
+                    if (method.getName().equals("commit")) {
+                        Runnable hook = afterCommit.getAndSet(null);
+                        if (hook != null) {
+                            hook.run();
+                        }
+                    }
+                    return result;
+                });
+    }
+
+    private Statement failingScoreReads(Statement statement) {
+        return (Statement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{Statement.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("executeQuery")) {
+                        checkScoreRead((String) args[0]);
+                    }
+                    return invoke(statement, method, args);
+                });
+    }
+
+    private void checkScoreRead(String sql) throws SQLException {
+        if (failScoreReads && sql.contains("FROM scores")) {
+            throw new SQLException("scores table unavailable");
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
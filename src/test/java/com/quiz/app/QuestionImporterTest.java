@@ -0,0 +1,203 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionImporterTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+    private static final String HEADER = "question,a,b,c,d,correct,id";
+
+    @TempDir
+    Path dir;
+
+    private String url;
+
+    @BeforeEach
+    void setUp() {
+        url = "jdbc:h2:mem:import-" + DATABASES.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        execute("SHUTDOWN");
+    }
+
+    @Test
+    void parseCsvHandlesQuotedCommasNewlinesAndDoubledQuotes() {
+        assertEquals(List.of("a", "b,c", "say \"hi\"", "line 1\nline 2", ""),
+                QuestionImporter.parseCsv("a,\"b,c\",\"say \"\"hi\"\"\",\"line 1\nline 2\","));
+        assertEquals(List.of("x", "y"), QuestionImporter.parseCsv("x,y\r"));
+        assertEquals(List.of(""), QuestionImporter.parseCsv(""));
+    }
+
+    @Test
+    void parseJsonObjectReadsEscapesNumbersAndNull() {
+        Map<String, String> values = QuestionImporter.parseJsonObject(
+                "{ \"Question\": \"Caf\\u00e9 \\\"quoted\\\"\\n\", \"a\": 12, \"b\": null, \"c\": true }");
+        assertEquals("Café \"quoted\"\n", values.get("question"));
+        assertEquals("12", values.get("a"));
+        assertTrue(values.containsKey("b"));
+        assertNull(values.get("b"));
+        assertEquals("true", values.get("c"));
+        assertTrue(QuestionImporter.parseJsonObject("{}").isEmpty());
+    }
+
+    @Test
+    void parseJsonObjectRejectsMalformedInput() {
+        assertThrows(IllegalArgumentException.class, () -> QuestionImporter.parseJsonObject("[1, 2]"));
+        assertThrows(IllegalArgumentException.class, () -> QuestionImporter.parseJsonObject("{\"a\": \"open"));
+        assertThrows(IllegalArgumentException.class, () -> QuestionImporter.parseJsonObject("{\"a\": \"\\u12\"}"));
+        assertThrows(IllegalArgumentException.class, () -> QuestionImporter.parseJsonObject("{\"a\": 1 \"b\": 2}"));
+    }
+
+    @Test
+    void toRowStoresTheMatchingOptionAsTheAnswer() {
+        QuestionImporter.ImportRow row = QuestionImporter.toRow(values(
+                "question", " Capital of Bangladesh? ", "a", "Dhaka", "b", "Khulna", "c", "Sylhet", "d", "Rajshahi",
+                "correct", "  dhaka ", "id", "42"));
+        assertEquals(42, row.id);
+        assertArrayEquals(new String[]{"Capital of Bangladesh?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka", null},
+                row.fields);
+    }
+
+    @Test
+    void toRowRejectsInvalidRecords() {
+        assertEquals("missing c", rejectReason(values(
+                "question", "Q", "a", "1", "b", "2", "c", " ", "d", "4", "correct", "1")));
+        assertEquals("correct answer '5' matches none of a-d", rejectReason(values(
+                "question", "Q", "a", "1", "b", "2", "c", "3", "d", "4", "correct", "5")));
+        assertEquals("options a and c are the same", rejectReason(values(
+                "question", "Q", "a", "Same", "b", "2", "c", "same", "d", "4", "correct", "2")));
+        assertEquals("id 'x' is not a number", rejectReason(values(
+                "question", "Q", "a", "1", "b", "2", "c", "3", "d", "4", "correct", "1", "id", "x")));
+    }
+
+    @Test
+    void importsCsvWithBomAndMultiLineRecords() throws Exception {
+        Path file = write("questions.csv", "\uFEFF" + HEADER,
+                "\"Which river,\nthe longest?\",Padma,Meghna,Jamuna,Karnaphuli,Padma,1",
+                "\"The \"\"golden\"\" fibre?\",Jute,Tea,Rice,Cotton,jute,2");
+
+        QuestionImporter.Result result = importer(10).importFile(file, false);
+
+        assertEquals(2, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertEquals(List.of("1|Which river,\nthe longest?|Padma", "2|The \"golden\" fibre?|Jute"), storedQuestions());
+        assertFalse(Files.exists(rejectsFile(file)));
+    }
+
+    @Test
+    void strayQuoteRejectsOnlyItsOwnLine() throws Exception {
+        Path file = write("questions.csv", HEADER,
+                "\"Stray quote,1,2,3,4,1,1",
+                "Second,1,2,3,4,1,2",
+                "Third,1,2,3,4,1,3");
+
+        QuestionImporter.Result result = importer(10).importFile(file, false);
+
+        assertEquals(2, result.getRowsImported());
+        assertEquals(1, result.getRowsRejected());
+        assertEquals(List.of("2|Second|1", "3|Third|1"), storedQuestions());
+        assertEquals(List.of("line 2: unbalanced quotes"), Files.readAllLines(rejectsFile(file)));
+    }
+
+    @Test
+    void failedImportResumesAfterTheLastCommittedChunk() throws Exception {
+        Path file = write("questions.csv", HEADER,
+                "Q1,1,2,3,4,1,1",
+                "Bad,1,2,3,4,9,2",
+                "Q3,1,2,3,4,1,3",
+                "Q4,1,2,3,4,1,4",
+                "Q5,1,2,3,4,1,5",
+                "Q6,1,2,3,4,1,6");
+        // Chunks of two lines; the third collides with a row that is already there
+        execute("CREATE TABLE questions (id INT AUTO_INCREMENT PRIMARY KEY, question TEXT, a VARCHAR(255), "
+                + "b VARCHAR(255), c VARCHAR(255), d VARCHAR(255), correct VARCHAR(255), category VARCHAR(64))");
+        execute("INSERT INTO questions (id, question, a, b, c, d, correct) VALUES (5, 'Taken', '1', '2', '3', '4', '1')");
+
+        assertThrows(SQLException.class, () -> importer(2).importFile(file, false));
+        assertEquals(List.of("1|Q1|1", "3|Q3|1", "4|Q4|1", "5|Taken|1"), storedQuestions());
+
+        execute("DELETE FROM questions WHERE id = 5");
+        QuestionImporter.Result result = importer(2).importFile(file, false);
+
+        assertEquals(2, result.getRowsImported());
+        assertEquals(0, result.getRowsRejected());
+        assertEquals(3, result.getRowsFromEarlierRuns());
+        assertEquals(List.of("1|Q1|1", "3|Q3|1", "4|Q4|1", "5|Q5|1", "6|Q6|1"), storedQuestions());
+        // The earlier run's reject is still listed
+        assertEquals(List.of("line 3: correct answer '9' matches none of a-d"), Files.readAllLines(rejectsFile(file)));
+
+        QuestionImporter.Result again = importer(2).importFile(file, false);
+        assertEquals(0, again.getRowsImported());
+        assertEquals(5, again.getRowsFromEarlierRuns());
+    }
+
+    private QuestionImporter importer(int chunkSize) {
+        return new QuestionImporter(() -> DriverManager.getConnection(url, "sa", ""), chunkSize, 2);
+    }
+
+    private Path write(String name, String... lines) throws IOException {
+        return Files.writeString(dir.resolve(name), String.join("\n", lines) + "\n", StandardCharsets.UTF_8);
+    }
+
+    private static Path rejectsFile(Path file) {
+        return file.resolveSibling(file.getFileName() + ".rejected");
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute(sql);
+        }
+    }
+
+    private List<String> storedQuestions() throws SQLException {
+        List<String> rows = new ArrayList<>();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT id, question, correct FROM questions ORDER BY id")) {
+            while (rs.next()) {
+                rows.add(rs.getInt(1) + "|" + rs.getString(2) + "|" + rs.getString(3));
+            }
+        }
+        return rows;
+    }
+
+    private static Map<String, String> values(String... keysAndValues) {
+        Map<String, String> values = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            values.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return values;
+    }
+
+    private static String rejectReason(Map<String, String> values) {
+        return assertThrows(IllegalArgumentException.class, () -> QuestionImporter.toRow(values)).getMessage();
+    }
+}
@@ -0,0 +1,119 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class QuestionIndexTest {
+
+    @Test
+    void emptyIndexFindsNothing() {
+        QuestionIndex index = QuestionIndex.empty();
+        assertEquals(0, index.size());
+        // Unused slots hold key 0, which must not match
+        assertNull(index.get(0));
+        assertNull(index.get(1));
+    }
+
+    @Test
+    void findsEveryIdAcrossCapacityBoundaries() {
+        // Sizes on both sides of each power of two, where the table capacity steps up
+        List<Integer> sizes = new ArrayList<>();
+        for (int power = 1; power <= 1_024; power <<= 1) {
+            sizes.add(power);
+            sizes.add(power + 1);
+            if (power > 2) {
+                sizes.add(power - 1);
+            }
+        }
+        for (int size : sizes) {
+            List<Question> questions = new ArrayList<>();
+            for (int id = 1; id <= size; id++) {
+                questions.add(question(id));
+            }
+            QuestionIndex index = QuestionIndex.build(questions);
+
+            assertEquals(size, index.size());
+            for (Question question : questions) {
+                assertSame(question, index.get(question.getId()), "size " + size);
+            }
+            assertNull(index.get(0));
+            assertNull(index.get(size + 1));
+        }
+    }
+
+    @Test
+    void handlesZeroNegativeAndExtremeIds() {
+        Random random = new Random(42);
+        Map<Integer, Question> expected = new HashMap<>();
+        for (int id : new int[]{0, -1, Integer.MIN_VALUE, Integer.MAX_VALUE, 1 << 30, -(1 << 30)}) {
+            expected.put(id, question(id));
+        }
+        while (expected.size() < 5_000) {
+            int id = random.nextInt();
+            expected.put(id, question(id));
+        }
+        QuestionIndex index = QuestionIndex.build(new ArrayList<>(expected.values()));
+
+        assertEquals(expected.size(), index.size());
+        expected.forEach((id, question) -> assertSame(question, index.get(id)));
+        for (int i = 0; i < 10_000; i++) {
+            int id = random.nextInt();
+            assertSame(expected.get(id), index.get(id));
+        }
+    }
+
+    @Test
+    void collidingIdsProbeToTheirOwnSlots() {
+        // Ids that hash to the same slot of the 8-slot table built for four questions
+        List<Integer> colliding = new ArrayList<>();
+        int target = slotIn8(-7);
+        for (int id = -7; colliding.size() < 4; id++) {
+            if (slotIn8(id) == target) {
+                colliding.add(id);
+            }
+        }
+        List<Question> questions = new ArrayList<>();
+        for (int id : colliding) {
+            questions.add(question(id));
+        }
+        QuestionIndex index = QuestionIndex.build(questions);
+
+        for (Question question : questions) {
+            assertSame(question, index.get(question.getId()));
+        }
+        // A missing id in the same chain walks past all of them to an empty slot
+        for (int id = colliding.get(3) + 1; ; id++) {
+            if (slotIn8(id) == target) {
+                assertNull(index.get(id));
+                break;
+            }
+        }
+    }
+
+    @Test
+    void duplicateIdKeepsTheFirstQuestion() {
+        Question first = question(5);
+        Question second = question(5);
+        QuestionIndex index = QuestionIndex.build(List.of(first, question(6), second));
+        assertEquals(2, index.size());
+        assertSame(first, index.get(5));
+    }
+
+    // Same Fibonacci hash as QuestionIndex, for a table of 8 slots
+    private static int slotIn8(int id) {
+        return (id * 0x9E3779B9) >>> 29;
+    }
+
+    private static Question question(int id) {
+        return new Question(id, "Question " + id + "?", "A", "B", "C", "D", "A");
+    }
+}
@@ -0,0 +1,120 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionSnapshotFileTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void roundTripsTheCatalog() throws IOException {
+        Path file = dir.resolve("questions.snapshot");
+        List<Question> questions = questions();
+        Timestamp syncMark = new Timestamp(1_700_000_000_000L);
+        QuestionSnapshotFile.write(file, catalog(questions, syncMark, "questions:8:abc"));
+
+        QuestionSnapshotFile.Contents contents = QuestionSnapshotFile.read(file);
+        assertEquals(syncMark, contents.syncMark);
+        assertEquals("questions:8:abc", contents.schemaFingerprint);
+        assertTrue(contents.writtenAt > 0);
+        assertEquals(questions.size(), contents.questions.size());
+        for (int i = 0; i < questions.size(); i++) {
+            Question expected = questions.get(i);
+            Question actual = contents.questions.get(i);
+            assertEquals(expected.getId(), actual.getId());
+            assertEquals(expected.getQuestion(), actual.getQuestion());
+            // Missing option text is stored as empty, as in CompactQuestionStore
+            assertEquals(expected.getD() == null ? "" : expected.getD(), actual.getD());
+            assertEquals(expected.getCorrect(), actual.getCorrect());
+            assertEquals(expected.getCorrectOption(), actual.getCorrectOption());
+            assertEquals(expected.getCategory(), actual.getCategory());
+        }
+        assertFalse(Files.exists(dir.resolve("questions.snapshot.tmp")));
+    }
+
+    @Test
+    void roundTripsAnEmptyCatalogWithoutSyncMark() throws IOException {
+        Path file = dir.resolve("empty.snapshot");
+        QuestionSnapshotFile.write(file, catalog(List.of(), null, null));
+
+        QuestionSnapshotFile.Contents contents = QuestionSnapshotFile.read(file);
+        assertTrue(contents.questions.isEmpty());
+        assertNull(contents.syncMark);
+        assertNull(contents.schemaFingerprint);
+    }
+
+    @Test
+    void rejectsAFlippedByteAnywhereInTheFile() throws IOException {
+        Path file = dir.resolve("questions.snapshot");
+        QuestionSnapshotFile.write(file, catalog(questions(), new Timestamp(1_000L), "fp"));
+        byte[] original = Files.readAllBytes(file);
+
+        // Skip magic and version, which have their own checks
+        for (int position = 8; position < original.length; position++) {
+            byte[] corrupt = original.clone();
+            corrupt[position] ^= 0x10;
+            Files.write(file, corrupt);
+            IOException e = assertThrows(IOException.class, () -> QuestionSnapshotFile.read(file),
+                    "byte " + position);
+            assertEquals("Snapshot checksum mismatch", e.getMessage(), "byte " + position);
+        }
+    }
+
+    @Test
+    void rejectsATruncatedFile() throws IOException {
+        Path file = dir.resolve("questions.snapshot");
+        QuestionSnapshotFile.write(file, catalog(questions(), new Timestamp(1_000L), "fp"));
+        byte[] original = Files.readAllBytes(file);
+
+        for (int length = 0; length < original.length; length++) {
+            Files.write(file, Arrays.copyOf(original, length));
+            assertThrows(IOException.class, () -> QuestionSnapshotFile.read(file), "length " + length);
+        }
+    }
+
+    @Test
+    void rejectsOtherFilesAndVersions() throws IOException {
+        Path file = dir.resolve("questions.snapshot");
+        assertThrows(IOException.class, () -> QuestionSnapshotFile.read(file));
+
+        QuestionSnapshotFile.write(file, catalog(questions(), null, null));
+        byte[] bytes = Files.readAllBytes(file);
+        bytes[7] = (byte) (QuestionSnapshotFile.VERSION + 1);
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> QuestionSnapshotFile.read(file));
+
+        bytes[0] = 'X';
+        Files.write(file, bytes);
+        assertThrows(IOException.class, () -> QuestionSnapshotFile.read(file));
+    }
+
+    private static List<Question> questions() {
+        List<Question> questions = new ArrayList<>();
+        questions.add(new Question(1, "Capital of Bangladesh?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka", "Geography"));
+        questions.add(new Question(2, "বাংলাদেশের জাতীয় ফুল কী?", "গোলাপ", "শাপলা", "জবা", "বেলি", "শাপলা", "Culture"));
+        questions.add(new Question(3, "Independence year?", "1952", "1971", "1975", "1990", " 1971 ", "History"));
+        questions.add(new Question(4, "Unanswerable?", "A", "B", "C", null, null));
+        return questions;
+    }
+
+    private static QuestionCatalog catalog(List<Question> questions, Timestamp syncMark, String fingerprint) {
+        return QuestionCatalog.of(questions, new QuizManager.QuizStatistics(questions.size(), 0, 0, 0),
+                syncMark, fingerprint);
+    }
+}
@@ -0,0 +1,114 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizClockTest {
+
+    // Virtual nanoTime; starts far from zero so nothing depends on it being 0
+    private long now = 1_000_000_000_000L;
+    private QuizClock clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new QuizClock(30_000, () -> now);
+    }
+
+    @Test
+    void countsDownAndExpiresAtTheDeadline() {
+        clock.startQuestion();
+        assertEquals(30_000, clock.getRemainingMillis());
+        assertEquals(30, clock.getRemainingSeconds());
+
+        advanceMillis(29_001);
+        assertEquals(999, clock.getRemainingMillis());
+        assertEquals(1, clock.getRemainingSeconds());
+        assertFalse(clock.isExpired());
+
+        advanceMillis(999);
+        assertEquals(0, clock.getRemainingSeconds());
+        assertTrue(clock.isExpired());
+
+        advanceMillis(5_000);
+        assertEquals(0, clock.getRemainingMillis());
+    }
+
+    @Test
+    void latencyOfALateAnswerIsCappedAtTheLimit() {
+        clock.startQuestion();
+        advanceMillis(45_000);
+        assertEquals(30_000, clock.finishQuestion());
+        assertFalse(clock.isRunning());
+        assertFalse(clock.isExpired());
+        assertEquals(0, clock.getRemainingMillis());
+    }
+
+    @Test
+    void pausedTimeDoesNotCount() {
+        clock.startQuestion();
+        advanceMillis(10_000);
+        clock.pause();
+        assertTrue(clock.isPaused());
+
+        advanceMillis(60_000);
+        assertEquals(20_000, clock.getRemainingMillis());
+        assertFalse(clock.isExpired());
+
+        clock.resume();
+        assertFalse(clock.isPaused());
+        assertEquals(20_000, clock.getRemainingMillis());
+        advanceMillis(5_000);
+        assertEquals(15_000, clock.finishQuestion());
+    }
+
+    @Test
+    void finishingWhilePausedUsesThePauseTime() {
+        clock.startQuestion();
+        advanceMillis(4_000);
+        clock.pause();
+        advanceMillis(100_000);
+        assertEquals(4_000, clock.finishQuestion());
+    }
+
+    @Test
+    void recordsOneLatencyPerQuestion() {
+        long[] expected = new long[20];
+        for (int i = 0; i < expected.length; i++) {
+            clock.startQuestion();
+            advanceMillis(100 * (i + 1));
+            expected[i] = clock.finishQuestion();
+            assertEquals(100 * (i + 1), expected[i]);
+        }
+        assertEquals(-1, clock.finishQuestion());
+        assertArrayEquals(expected, clock.getResponseLatenciesMillis());
+        assertEquals(1_050, clock.getAverageResponseMillis(), 0.001);
+
+        clock.reset();
+        assertEquals(0, clock.getResponseLatenciesMillis().length);
+        assertEquals(0, clock.getAverageResponseMillis(), 0.001);
+    }
+
+    @Test
+    void newLimitAppliesFromTheNextQuestion() {
+        clock.startQuestion();
+        clock.setQuestionLimitMillis(5_000);
+        assertEquals(30_000, clock.getRemainingMillis());
+
+        clock.finishQuestion();
+        clock.startQuestion();
+        assertEquals(5_000, clock.getRemainingMillis());
+        assertThrows(IllegalArgumentException.class, () -> clock.setQuestionLimitMillis(0));
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
@@ -0,0 +1,109 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizManagerTest {
+
+    private QuizManager quizManager;
+
+    @BeforeEach
+    void setUp() {
+        List<Question> questions = new ArrayList<>();
+        for (int id = 1; id <= 10; id++) {
+            questions.add(new Question(id, "Question " + id + "?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka"));
+        }
+        quizManager = new QuizManager(new FixedQuestions(questions), new InMemoryScoreRepository(), null);
+    }
+
+    @Test
+    void startedSessionsAreRegisteredUntilFinished() {
+        QuizSession session = quizManager.startSession("Rahat", 3);
+        assertNotNull(session);
+        assertEquals(3, session.getTotalQuestions());
+        assertSame(session, quizManager.getSession(session.getId()));
+        assertEquals(1, quizManager.getActiveSessionCount());
+
+        session.answer(Question.OPTION_A);
+        assertTrue(quizManager.finishSession(session.getId()));
+
+        assertTrue(session.isFinished());
+        assertNull(quizManager.getSession(session.getId()));
+        assertEquals(0, quizManager.getActiveSessionCount());
+        assertFalse(quizManager.finishSession(session.getId()));
+
+        List<DatabaseManager.ScoreRecord> top = quizManager.getTopScores(10);
+        assertEquals(1, top.size());
+        assertEquals(1, top.get(0).getScore());
+        assertEquals(3, top.get(0).getTotalQuestions());
+    }
+
+    @Test
+    void idleSessionsAreEvictedWithoutSavingAScore() throws InterruptedException {
+        QuizSession idle = quizManager.startSession("Idle", 3);
+        Thread.sleep(300);
+        QuizSession active = quizManager.startSession("Active", 3);
+
+        assertEquals(0, quizManager.evictIdleSessions(60_000));
+        assertEquals(1, quizManager.evictIdleSessions(150));
+
+        assertTrue(idle.isFinished());
+        assertNull(quizManager.getSession(idle.getId()));
+        assertSame(active, quizManager.getSession(active.getId()));
+        assertFalse(quizManager.finishSession(idle.getId()));
+        assertTrue(quizManager.getTopScores(10).isEmpty());
+    }
+
+    @Test
+    void sessionLengthIsCappedByTheCatalog() {
+        QuizSession session = quizManager.startSession("Rahat", 50);
+        assertEquals(10, session.getTotalQuestions());
+        assertNull(quizManager.getSession(null));
+    }
+
+    // The catalog as a plain list, without change tracking
+    private static final class FixedQuestions implements QuestionRepository {
+        private final List<Question> questions;
+        private final QuestionTelemetry telemetry = new QuestionTelemetry();
+
+        FixedQuestions(List<Question> questions) {
+            this.questions = questions;
+        }
+
+        @Override
+        public boolean isAvailable() {
+            return true;
+        }
+
+        @Override
+        public boolean forEachQuestion(Consumer<Question> consumer) {
+            questions.forEach(consumer);
+            return true;
+        }
+
+        @Override
+        public List<Question> getRandomQuestions(int count) {
+            return questions.subList(0, Math.min(count, questions.size()));
+        }
+
+        @Override
+        public QuestionTelemetry getQuestionTelemetry() {
+            return telemetry;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuizSessionTest {
+
+    private static final long LIMIT_MILLIS = 10_000;
+
+    private long now = 1_000_000_000_000L;
+    private QuestionTelemetry telemetry;
+    private List<Question> questions;
+    private QuizSession session;
+
+    @BeforeEach
+    void setUp() {
+        telemetry = new QuestionTelemetry();
+        questions = new ArrayList<>();
+        for (int id = 1; id <= 3; id++) {
+            questions.add(new Question(id, "Question " + id + "?", "Dhaka", "Khulna", "Sylhet", "Rajshahi", "Dhaka"));
+        }
+        session = new QuizSession("s1", "Rahat", questions, new QuizClock(LIMIT_MILLIS, () -> now), telemetry);
+    }
+
+    @Test
+    void answersAreGradedAndTheSessionMovesOn() {
+        assertSame(questions.get(0), session.getCurrentQuestion());
+        advanceMillis(2_000);
+        assertTrue(session.answer(Question.OPTION_A));
+
+        assertEquals(1, session.getCurrentQuestionIndex());
+        advanceMillis(3_000);
+        assertFalse(session.answer("Khulna"));
+
+        assertEquals(1, session.getScore());
+        assertEquals("Dhaka", session.getSelectedAnswer(0));
+        assertEquals("Khulna", session.getSelectedAnswer(1));
+        assertArrayEquals(new long[]{2_000, 3_000}, session.getResponseLatenciesMillis());
+        assertEquals(1, telemetry.getStats(1).getCorrect());
+        assertEquals(1, telemetry.getStats(2).getWrong());
+    }
+
+    @Test
+    void unknownOptionCountsAsNoAnswer() {
+        assertFalse(session.answer(7));
+        assertEquals(Question.NO_OPTION, session.getSelectedOption(0));
+        assertNull(session.getSelectedAnswer(0));
+        assertFalse(session.answer("Chittagong"));
+        assertEquals(0, session.getScore());
+        assertEquals(0, session.getTimeouts());
+    }
+
+    @Test
+    void checkTimeoutSkipsAQuestionOnlyOnceItsTimeIsUp() {
+        advanceMillis(LIMIT_MILLIS - 1);
+        assertFalse(session.checkTimeout());
+        assertEquals(0, session.getCurrentQuestionIndex());
+
+        advanceMillis(1);
+        assertTrue(session.checkTimeout());
+        assertEquals(1, session.getCurrentQuestionIndex());
+        assertEquals(1, session.getTimeouts());
+        assertEquals(1, telemetry.getStats(1).getTimeouts());
+        // The next question gets a full limit of its own
+        assertEquals(LIMIT_MILLIS, session.getRemainingMillis());
+        assertFalse(session.checkTimeout());
+    }
+
+    @Test
+    void lateAnswerCountsAsATimeout() {
+        advanceMillis(LIMIT_MILLIS + 500);
+        assertFalse(session.answer(Question.OPTION_A));
+
+        assertEquals(0, session.getScore());
+        assertEquals(1, session.getTimeouts());
+        assertNull(session.getSelectedAnswer(0));
+        assertEquals(1, session.getCurrentQuestionIndex());
+        assertEquals(1, telemetry.getStats(1).getTimeouts());
+        assertEquals(0, telemetry.getStats(1).getCorrect());
+    }
+
+    @Test
+    void pausedTimeDoesNotTimeOutAQuestion() {
+        advanceMillis(5_000);
+        session.pause();
+        advanceMillis(60_000);
+        assertFalse(session.checkTimeout());
+        session.resume();
+        advanceMillis(1_000);
+        assertTrue(session.answer(Question.OPTION_A));
+        assertEquals(6_000, session.getResponseLatenciesMillis()[0]);
+    }
+
+    @Test
+    void nothingMovesPastTheLastQuestion() {
+        session.answer(Question.OPTION_A);
+        session.timeOut();
+        advanceMillis(1_000);
+        session.answer(Question.OPTION_A);
+
+        assertTrue(session.isFinished());
+        assertEquals(QuizSession.State.FINISHED, session.getState());
+        assertNull(session.getCurrentQuestion());
+        assertEquals(2, session.getScore());
+        assertEquals(1, session.getTimeouts());
+        assertEquals(200.0 / 3, session.getPercentage(), 0.001);
+
+        // A click or timer tick that arrives after the end changes nothing
+        assertThrows(IllegalStateException.class, () -> session.answer(Question.OPTION_A));
+        assertThrows(IllegalStateException.class, () -> session.answer("Dhaka"));
+        assertThrows(IllegalStateException.class, session::timeOut);
+        advanceMillis(LIMIT_MILLIS * 2);
+        assertFalse(session.checkTimeout());
+        assertEquals(2, session.getScore());
+        assertEquals(1, session.getTimeouts());
+    }
+
+    @Test
+    void finishingEarlyLeavesTheRestUnanswered() {
+        session.answer(Question.OPTION_A);
+        session.finish();
+
+        assertTrue(session.isFinished());
+        assertEquals(1, session.getScore());
+        assertNull(session.getSelectedAnswer(2));
+        assertEquals(100.0 / 3, session.getPercentage(), 0.001);
+        assertThrows(IllegalStateException.class, () -> session.answer(Question.OPTION_A));
+    }
+
+    @Test
+    void sessionWithoutQuestionsStartsFinished() {
+        QuizSession empty = new QuizSession("s2", "Rahat", List.of(), new QuizClock(LIMIT_MILLIS, () -> now));
+        assertTrue(empty.isFinished());
+        assertNull(empty.getCurrentQuestion());
+        assertEquals(0, empty.getPercentage(), 0.001);
+    }
+
+    private void advanceMillis(long millis) {
+        now += TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
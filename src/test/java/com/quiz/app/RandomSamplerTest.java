@@ -0,0 +1,67 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RandomSamplerTest {
+
+    @Test
+    void emptyForNothingToPick() {
+        assertEquals(0, RandomSampler.sampleIndexes(0, 5).length);
+        assertEquals(0, RandomSampler.sampleIndexes(10, 0).length);
+        assertEquals(0, RandomSampler.sampleIndexes(10, -1).length);
+    }
+
+    @Test
+    void countAtOrAboveBoundReturnsEveryIndexOnce() {
+        for (int bound : new int[]{1, 5, 31, 32, 33, 100}) {
+            assertDistinctInRange(RandomSampler.sampleIndexes(bound, bound), bound, bound);
+            assertDistinctInRange(RandomSampler.sampleIndexes(bound, bound + 1), bound, bound);
+            assertDistinctInRange(RandomSampler.sampleIndexes(bound, Integer.MAX_VALUE), bound, bound);
+        }
+    }
+
+    @Test
+    void samplesAreDistinctAroundTheLinearScanThreshold() {
+        // 32 and below check duplicates by scanning the sample, above that with a hash set
+        for (int count = 30; count <= 34; count++) {
+            for (int bound : new int[]{count, count + 1, 64, 1_000_000}) {
+                for (int run = 0; run < 200; run++) {
+                    assertDistinctInRange(RandomSampler.sampleIndexes(bound, count), bound, count);
+                }
+            }
+        }
+    }
+
+    @Test
+    void everyIndexCanBePickedInEveryPosition() {
+        int bound = 6;
+        int count = 3;
+        boolean[][] seen = new boolean[count][bound];
+        for (int run = 0; run < 5_000; run++) {
+            int[] sample = RandomSampler.sampleIndexes(bound, count);
+            for (int position = 0; position < count; position++) {
+                seen[position][sample[position]] = true;
+            }
+        }
+        for (int position = 0; position < count; position++) {
+            for (int index = 0; index < bound; index++) {
+                assertTrue(seen[position][index], "index " + index + " never at position " + position);
+            }
+        }
+    }
+
+    private static void assertDistinctInRange(int[] sample, int bound, int expectedCount) {
+        assertEquals(expectedCount, sample.length);
+        Set<Integer> distinct = new HashSet<>();
+        for (int index : sample) {
+            assertTrue(index >= 0 && index < bound, "index " + index + " outside [0, " + bound + ")");
+            assertTrue(distinct.add(index), "index " + index + " picked twice");
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.quiz.app;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ScoreWriterTest {
+
+    private static final AtomicInteger DATABASES = new AtomicInteger();
+
+    @TempDir
+    Path dir;
+
+    private String url;
+    private ConnectionPool pool;
+    private Path spillFile;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:h2:mem:writer-" + DATABASES.incrementAndGet() + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.executeUpdate("CREATE TABLE scores (id INT AUTO_INCREMENT PRIMARY KEY, player_name VARCHAR(255) NOT NULL,"
+                    + " score INT NOT NULL, total_questions INT NOT NULL, date_played TIMESTAMP)");
+        }
+        pool = new ConnectionPool(() -> DriverManager.getConnection(url, "sa", ""), 4, 1_000, 60_000, 60_000);
+        spillFile = dir.resolve("pending-scores.tsv");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        pool.close();
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement()) {
+            stmt.execute("SHUTDOWN");
+        }
+    }
+
+    @Test
+    void replaysSpilledScoresOnStart() throws Exception {
+        writeSpillFile(5);
+        newWriter().close();
+
+        assertEquals(5, savedScores());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void writersSharingASpillFileReplayItOnce() throws Exception {
+        writeSpillFile(500);
+        List<ScoreWriter> writers = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            writers.add(newWriter());
+        }
+        writers.forEach(ScoreWriter::close);
+
+        assertEquals(500, savedScores());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    @Test
+    void replayWaitsWhileAnotherProcessHoldsTheSpillFile() throws Exception {
+        writeSpillFile(3);
+        Process holder = startLockHolder(dir.resolve("pending-scores.tsv.lock"));
+        try {
+            newWriter().close();
+            assertEquals(0, savedScores());
+            assertEquals(3, Files.readAllLines(spillFile).size());
+        } finally {
+            holder.getOutputStream().close();
+            assertTrue(holder.waitFor(10, TimeUnit.SECONDS));
+        }
+
+        newWriter().close();
+        assertEquals(3, savedScores());
+        assertFalse(Files.exists(spillFile));
+    }
+
+    private ScoreWriter newWriter() {
+        return new ScoreWriter(pool, spillFile, 100, 50, 50, new Object(), batch -> {});
+    }
+
+    private void writeSpillFile(int count) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            lines.add((1_700_000_000_000L + i) + "\t" + (i % 10) + "\t10\tPlayer " + i);
+        }
+        Files.write(spillFile, lines, StandardCharsets.UTF_8);
+    }
+
+    private int savedScores() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM scores")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    // Another JVM holding the spill lock, as a second copy of the app would while replaying
+    private static Process startLockHolder(Path lockFile) throws Exception {
+        String classPath = Paths.get(LockHolder.class.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+        String java = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        Process process = new ProcessBuilder(java, "-cp", classPath, LockHolder.class.getName(), lockFile.toString())
+                .redirectErrorStream(true)
+                .start();
+        BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        assertEquals("locked", out.readLine());
+        return process;
+    }
+
+    // Locks the given file until its standard input is closed
+    static final class LockHolder {
+        public static void main(String[] args) throws IOException {
+            try (FileChannel channel = FileChannel.open(Paths.get(args[0]), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE);
+                 FileLock lock = channel.lock()) {
+                System.out.println("locked");
+                System.out.flush();
+                while (System.in.read() != -1) {
+                    // Wait for the test to let go
+                }
+            }
+        }
+    }
+}